@@ -1,4 +1,5 @@
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,10 +14,17 @@ import models.*;
 import models.MenuItem;
 import services.*;
 import enums.*;
+import logging.AsyncLogWriter;
+import logging.Logger;
+import management.ManagementAgent;
+import metrics.MetricsServer;
 import services.LoyaltyProgram;
 import services.MenuManager;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class CafeteriaSystemGUI extends Application {
     private Stage primaryStage;
@@ -26,6 +34,12 @@ public class CafeteriaSystemGUI extends Application {
     private MenuManager menuManager;
     private LoyaltyProgram loyaltyProgram;
     private OrderProcessor orderProcessor;
+    private PaymentProcessor paymentProcessor;
+    private IdGenerator idGenerator;
+    private SnapshotManager snapshotManager;
+    private AdmissionController admissionController;
+    private MetricsServer metricsServer;
+    private ManagementAgent managementAgent;
     private Student currentStudent;
     private Staff currentStaff;
 
@@ -33,6 +47,7 @@ public class CafeteriaSystemGUI extends Application {
     private ObservableList<MenuItem> menuItems;
     private ObservableList<Student> allStudents;
     private TabPane contentTabs;
+    private TableView<Order> liveOrdersTable; // Order management table, if it has been opened
 
     @Override
     public void start(Stage primaryStage) {
@@ -44,12 +59,60 @@ public class CafeteriaSystemGUI extends Application {
         showLoginScreen();
     }
 
+    @Override
+    public void stop() {
+        // Let queued loyalty/notification work finish before the JVM exits
+        if (snapshotManager != null) {
+            snapshotManager.shutdown();
+        }
+        if (admissionController != null) {
+            admissionController.shutdown(5, TimeUnit.SECONDS);
+        }
+        if (orderProcessor != null) {
+            orderProcessor.shutdown();
+        }
+        if (paymentProcessor != null) {
+            paymentProcessor.shutdown();
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (managementAgent != null) {
+            managementAgent.unregister();
+        }
+        Logger.shutdown();
+    }
+
     private void initializeServices() {
+        // There is no console behind the window, so service logs go to a rolling file
+        try {
+            Logger.configure(LogLevel.INFO, AsyncLogWriter.rollingFile(Paths.get("logs", "cafeteria.log"), 10_000_000, 5));
+        } catch (IOException e) {
+            System.out.println("Could not open log file, logging to console: " + e.getMessage());
+        }
         studentManager = new StudentManager();
         menuManager = new MenuManager();
         loyaltyProgram = new LoyaltyProgram();
-        PaymentProcessor paymentProcessor = new PaymentProcessor();
+        paymentProcessor = new PaymentProcessor();
+        idGenerator = IdGenerator.forDataDirectory(Paths.get("snapshots"));
         orderProcessor = new OrderProcessor(menuManager, studentManager, paymentProcessor, loyaltyProgram);
+        snapshotManager = new SnapshotManager(Paths.get("snapshots"));
+        long journalOffset = 0;
+        try {
+            journalOffset = snapshotManager.loadSnapshot(studentManager, menuManager, orderProcessor);
+        } catch (IOException e) {
+            System.out.println("Could not load snapshot, replaying full journal: " + e.getMessage());
+        }
+        orderProcessor.enableJournal(Paths.get("orders.journal"), journalOffset);
+        orderProcessor.enableKitchen(KitchenPolicy.BATCHED_EDF, 1.0);
+        admissionController = new AdmissionController(orderProcessor);
+        try {
+            metricsServer = MetricsServer.start(Integer.getInteger("cafeteria.metrics.port", MetricsServer.DEFAULT_PORT));
+        } catch (IOException e) {
+            System.out.println("Could not start metrics endpoint: " + e.getMessage());
+        }
+        managementAgent = ManagementAgent.register(orderProcessor, menuManager);
+        snapshotManager.startPeriodicSnapshots(studentManager, menuManager, orderProcessor, 5, TimeUnit.MINUTES);
 
         allOrders = FXCollections.observableArrayList();
         menuItems = FXCollections.observableArrayList(menuManager.getMenuItems());
@@ -57,6 +120,24 @@ public class CafeteriaSystemGUI extends Application {
 
         // Load sample data
         loadSampleData();
+
+        // Staff views follow order events instead of waiting for a manual refresh. A dropped
+        // CONFIRMED would leave the order off the live table, so a full queue hands the event
+        // to the publisher, for which posting it to the FX thread is cheap.
+        orderProcessor.getEventBus().subscribe("staff-view",
+                EnumSet.of(OrderEventType.CONFIRMED, OrderEventType.STATUS_CHANGED, OrderEventType.CANCELLED),
+                256, true, BackpressurePolicy.CALLER_RUNS, event -> Platform.runLater(() -> onOrderEvent(event)));
+    }
+
+    private void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.CONFIRMED) {
+            allOrders.add(event.getOrder());
+            if (liveOrdersTable != null) {
+                liveOrdersTable.getItems().add(event.getOrder());
+            }
+        } else if (liveOrdersTable != null) {
+            liveOrdersTable.refresh();
+        }
     }
 
     private void loadSampleData() {
@@ -65,6 +146,9 @@ public class CafeteriaSystemGUI extends Application {
         allOrders.add(new Order("ORD1002", studentManager.getStudent("S1002")));
         allOrders.add(new Order("ORD1003", studentManager.getStudent("S1003")));
 
+        // Orders recovered from the journal
+        allOrders.addAll(orderProcessor.getOrderRepository().getAllOrders());
+
         // Load sample students
         allStudents.addAll(studentManager.getAllStudents());
     }
@@ -328,7 +412,8 @@ public class CafeteriaSystemGUI extends Application {
         // Use a Set to track displayed items and avoid duplicates
         Set<String> displayedItems = new HashSet<>();
 
-        for (MenuItem item : menuManager.getMenuItems()) {
+        // Only what is served at this time of day; sold-out items stay listed, disabled
+        for (MenuItem item : menuManager.getCurrentMenu().getItems()) {
             // Check if we've already displayed this item
             if (!displayedItems.contains(item.getItemId())) {
                 VBox itemCard = createMenuItemCard(item);
@@ -378,6 +463,13 @@ public class CafeteriaSystemGUI extends Application {
             quantitySpinner.getValueFactory().setValue(1);
         });
 
+        // Still listed so students see it exists, but it can't be ordered until restocked
+        if (menuManager.isSoldOut(item.getItemId())) {
+            addButton.setText("Sold Out");
+            addButton.setDisable(true);
+            quantitySpinner.setDisable(true);
+        }
+
         actionBox.getChildren().addAll(new Label("Qty:"), quantitySpinner, addButton);
         card.getChildren().addAll(nameLabel, descLabel, priceLabel, actionBox);
         return card;
@@ -466,36 +558,65 @@ public class CafeteriaSystemGUI extends Application {
             return;
         }
 
-        Order order = new Order("ORD" + System.currentTimeMillis(), currentStudent);
+        // Check the rate limits before charging anything
+        AdmissionResult permit = admissionController.tryAcquire(currentStudent.getStudentId());
+        if (permit != AdmissionResult.ACCEPTED) {
+            showAlert(Alert.AlertType.WARNING, "Please Wait",
+                    "Too many orders are being placed right now. Please try again in a moment.");
+            return;
+        }
+
+        Order order = new Order(idGenerator.nextOrderId(), currentStudent);
 
         // Add all cart items to order
         for (CartItem cartItem : currentStudent.getCartItems()) {
-            for (int i = 0; i < cartItem.getQuantity(); i++) {
-                order.addItem(cartItem.getItem());
-            }
+            order.addItem(cartItem.getItem(), cartItem.getQuantity());
         }
 
-        // Process payment
-        Payment payment = new Payment("PAY" + System.currentTimeMillis(), order, PaymentMethod.CREDIT_CARD);
-        if (payment.processPayment()) {
-            if (orderProcessor.processOrder(order)) {
-                currentStudent.addOrderToHistory(order.getOrderId());
-                currentStudent.clearCart();
-                updateCartTab();
-
-                // Add to all orders list for staff/admin view
-                allOrders.add(order);
+        // Process payment off the FX thread so the UI stays responsive
+        Payment payment = new Payment(idGenerator.nextPaymentId(), order, PaymentMethod.CREDIT_CARD);
+        paymentProcessor.processPaymentAsync(payment)
+                .exceptionally(error -> false)
+                .thenAccept(success -> Platform.runLater(() -> completeCheckout(order, payment, success)));
+    }
 
-                showAlert(Alert.AlertType.INFORMATION, "Order Successful",
-                        "Order placed successfully! Order ID: " + order.getOrderId() +
-                                "\nTotal: $" + order.getOrderCalculator().calculateTotal());
+    private void completeCheckout(Order order, Payment payment, boolean paymentSuccessful) {
+        if (!paymentSuccessful) {
+            showAlert(Alert.AlertType.ERROR, "Payment Failed", "Payment processing failed. Please try again.");
+            return;
+        }
 
-                // Refresh orders tab
-                contentTabs.getTabs().get(3).setContent(createOrderHistoryView());
+        // The order goes through the bounded intake queue; if it is turned away the payment is refunded
+        admissionController.enqueue(order).thenAccept(result -> Platform.runLater(() -> {
+            if (result == AdmissionResult.ACCEPTED) {
+                onOrderAccepted(order);
+            } else {
+                paymentProcessor.refundPayment(payment.getPaymentId());
+                if (currentStudent == order.getStudent()) {
+                    showAlert(Alert.AlertType.WARNING, "Order Not Placed",
+                            "The kitchen is not taking more orders right now. Your payment has been refunded.");
+                }
             }
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Payment Failed", "Payment processing failed. Please try again.");
+        }));
+    }
+
+    private void onOrderAccepted(Order order) {
+        // The student may have logged out while the payment was in flight
+        Student student = order.getStudent();
+        student.addOrderToHistory(order.getOrderId());
+        student.clearCart();
+
+        if (currentStudent != student) {
+            return;
         }
+        updateCartTab();
+
+        showAlert(Alert.AlertType.INFORMATION, "Order Successful",
+                "Order placed successfully! Order ID: " + order.getOrderId() +
+                        "\nTotal: $" + order.getOrderCalculator().calculateTotal());
+
+        // Refresh orders tab
+        contentTabs.getTabs().get(3).setContent(createOrderHistoryView());
     }
 
     private void updateCartTab() {
@@ -558,8 +679,9 @@ public class CafeteriaSystemGUI extends Application {
 
                     // Order items
                     VBox itemsBox = new VBox(5);
-                    for (MenuItem item : order.getOrderItems().getItems()) {
-                        Label itemLabel = new Label("• " + item.getName() + " - $" + item.getPrice());
+                    for (OrderLine line : order.getOrderItems().getLines()) {
+                        Label itemLabel = new Label("• " + line.getItem().getName() + " x" + line.getQuantity() +
+                                " - $" + line.getLineTotal());
                         itemsBox.getChildren().add(itemLabel);
                     }
 
@@ -953,6 +1075,7 @@ public class CafeteriaSystemGUI extends Application {
 
         ordersTable.getColumns().addAll(orderIdCol, studentCol, dateCol, statusCol, totalCol);
         ordersTable.getItems().addAll(allOrders);
+        liveOrdersTable = ordersTable;
 
         // Order actions
         HBox actionBox = new HBox(10);
@@ -2,11 +2,20 @@ import javafx.application.Application;
 import models.*;
 import services.*;
 import enums.*;
+import logging.AsyncLogWriter;
+import logging.Logger;
+import management.ManagementAgent;
+import metrics.MetricsServer;
+import server.CafeteriaServer;
 import services.LoyaltyProgram;
 import services.MenuManager;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Date;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javafx.application.Application;
 
 
@@ -17,13 +26,26 @@ public class Main {
     private static OrderProcessor orderProcessor;
     private static PaymentProcessor paymentProcessor;
     private static ReportGenerator reportGenerator;
+    private static IdGenerator idGenerator;
+    private static SnapshotManager snapshotManager;
+    private static AdmissionController admissionController;
+    private static MetricsServer metricsServer;
+    private static ManagementAgent managementAgent;
+    private static CafeteriaServer cafeteriaServer;
     private static Student currentStudent;
     private static Staff currentStaff;
     private static Scanner scanner;
 
     public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                runHeadless();
+                return;
+            }
+        }
 
         Application.launch(CafeteriaSystemGUI.class, args);
+        configureConsoleLogging();
         initializeSystem();
         scanner = new Scanner(System.in);
 
@@ -41,9 +63,70 @@ public class Main {
         }
 
         scanner.close();
+        snapshotManager.shutdown();
+        admissionController.shutdown(5, TimeUnit.SECONDS);
+        orderProcessor.shutdown();
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        managementAgent.unregister();
+        Logger.shutdown();
         System.out.println("Thank you for using the University Cafeteria System!");
     }
 
+    // Serves the JSON ordering API instead of the GUI/console until the process is stopped
+    private static void runHeadless() {
+        // Fail before starting anything: instances behind one API must not share a node ID
+        IdGenerator instanceIds;
+        try {
+            instanceIds = IdGenerator.forCluster();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Cannot start API server: " + e.getMessage());
+            return;
+        }
+        initializeSystem();
+        idGenerator = instanceIds;
+        int port = Integer.getInteger("cafeteria.http.port", CafeteriaServer.DEFAULT_PORT);
+        cafeteriaServer = new CafeteriaServer(studentManager, menuManager, loyaltyProgram, orderProcessor,
+                paymentProcessor, admissionController, idGenerator);
+        try {
+            cafeteriaServer.start(port);
+        } catch (IOException e) {
+            System.out.println("Could not start API server on port " + port + ": " + e.getMessage());
+            return;
+        }
+        System.out.println("Cafeteria API listening on port " + cafeteriaServer.getPort());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            cafeteriaServer.stop(2);
+            snapshotManager.shutdown();
+            admissionController.shutdown(5, TimeUnit.SECONDS);
+            orderProcessor.shutdown();
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            managementAgent.unregister();
+            Logger.shutdown();
+            stopped.countDown();
+        }, "shutdown"));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Service logs would land between the console prompts, so they go to the GUI's log file
+    // instead; if that can't be opened only warnings reach the console
+    private static void configureConsoleLogging() {
+        try {
+            Logger.configure(LogLevel.INFO, AsyncLogWriter.rollingFile(Paths.get("logs", "cafeteria.log"), 10_000_000, 5));
+        } catch (IOException e) {
+            Logger.setLevel(LogLevel.WARN);
+        }
+    }
+
     private static void initializeSystem() {
         studentManager = new StudentManager();
         menuManager = new MenuManager();
@@ -51,6 +134,24 @@ public class Main {
         paymentProcessor = new PaymentProcessor();
         orderProcessor = new OrderProcessor(menuManager, studentManager, paymentProcessor, loyaltyProgram);
         reportGenerator = new ReportGenerator(orderProcessor);
+        idGenerator = IdGenerator.forDataDirectory(Paths.get("snapshots"));
+        snapshotManager = new SnapshotManager(Paths.get("snapshots"));
+        long journalOffset = 0;
+        try {
+            journalOffset = snapshotManager.loadSnapshot(studentManager, menuManager, orderProcessor);
+        } catch (IOException e) {
+            System.out.println("Could not load snapshot, replaying full journal: " + e.getMessage());
+        }
+        orderProcessor.enableJournal(Paths.get("orders.journal"), journalOffset);
+        orderProcessor.enableKitchen(KitchenPolicy.BATCHED_EDF, 1.0);
+        admissionController = new AdmissionController(orderProcessor);
+        try {
+            metricsServer = MetricsServer.start(Integer.getInteger("cafeteria.metrics.port", MetricsServer.DEFAULT_PORT));
+        } catch (IOException e) {
+            System.out.println("Could not start metrics endpoint: " + e.getMessage());
+        }
+        managementAgent = ManagementAgent.register(orderProcessor, menuManager);
+        snapshotManager.startPeriodicSnapshots(studentManager, menuManager, orderProcessor, 5, TimeUnit.MINUTES);
     }
 
     private static boolean showMainMenu() {
@@ -203,12 +304,14 @@ public class Main {
         boolean success = studentManager.registerStudent(studentId, username, password, name, email);
         if (success) {
             System.out.println("Registration successful! You can now login.");
+        } else {
+            System.out.println("Registration failed: that student ID or username is already taken.");
         }
     }
 
     private static void placeOrder() {
         menuManager.displayMenu();
-        Order order = new Order("ORD" + System.currentTimeMillis(), currentStudent);
+        Order order = new Order(idGenerator.nextOrderId(), currentStudent);
 
         boolean addingItems = true;
         while (addingItems) {
@@ -219,31 +322,42 @@ public class Main {
                 addingItems = false;
             } else {
                 MenuItem item = menuManager.getMenuItemById(itemId);
-                if (item != null) {
+                if (item == null) {
+                    System.out.println("Item not found. Please try again.");
+                } else if (!menuManager.isServedNow(itemId)) {
+                    System.out.println(item.getName() + " is not served at this time.");
+                } else {
                     order.addItem(item);
                     System.out.println("Current total: $" + order.getOrderCalculator().calculateTotal());
-                } else {
-                    System.out.println("Item not found. Please try again.");
                 }
             }
         }
 
         if (order.getOrderItems().getItemCount() > 0) {
             System.out.println("Order summary:");
-            order.getOrderItems().getItems().forEach(item ->
-                    System.out.println("  " + item.getName() + " - $" + item.getPrice()));
+            order.getOrderItems().getLines().forEach(line ->
+                    System.out.println("  " + line));
             System.out.println("Total: $" + order.getOrderCalculator().calculateTotal());
 
             System.out.print("Confirm order? (yes/no): ");
             String confirm = scanner.nextLine();
 
             if ("yes".equalsIgnoreCase(confirm)) {
-                // Process payment
-                Payment payment = new Payment("PAY" + System.currentTimeMillis(), order, PaymentMethod.CREDIT_CARD);
-                if (payment.processPayment()) {
-                    orderProcessor.processOrder(order);
-                    currentStudent.addOrderToHistory(order.getOrderId());
-                    System.out.println("Order placed successfully! Your order ID is: " + order.getOrderId());
+                if (admissionController.tryAcquire(currentStudent.getStudentId()) != AdmissionResult.ACCEPTED) {
+                    System.out.println("Too many orders right now. Please try again in a moment.");
+                    return;
+                }
+
+                // Process payment through the ledger; the order id keys this checkout attempt
+                Payment payment = new Payment(idGenerator.nextPaymentId(), order, PaymentMethod.CREDIT_CARD);
+                if (paymentProcessor.processPayment(payment, order.getOrderId())) {
+                    if (admissionController.enqueue(order).join() == AdmissionResult.ACCEPTED) {
+                        currentStudent.addOrderToHistory(order.getOrderId());
+                        System.out.println("Order placed successfully! Your order ID is: " + order.getOrderId());
+                    } else {
+                        paymentProcessor.refundPayment(payment.getPaymentId());
+                        System.out.println("The kitchen is not taking more orders right now. Your payment has been refunded.");
+                    }
                 } else {
                     System.out.println("Payment failed. Order not placed.");
                 }
@@ -381,7 +495,11 @@ public class Main {
         }
 
         MenuItem newItem = new MenuItem(itemId, name, description, price, category);
-        menuManager.addMenuItem(newItem);
+        if (menuManager.addMenuItem(newItem)) {
+            System.out.println("Menu item added.");
+        } else {
+            System.out.println("Could not add item: ID " + itemId + " is already on the menu.");
+        }
     }
 
     private static void updateMenuItem() {
@@ -415,7 +533,11 @@ public class Main {
                 existingItem.getCategory()
         );
 
-        menuManager.updateMenuItem(itemId, updatedItem);
+        if (menuManager.updateMenuItem(itemId, updatedItem)) {
+            System.out.println("Menu item updated.");
+        } else {
+            System.out.println("Could not update item: it is no longer on the menu.");
+        }
     }
 
     private static void removeMenuItem() {
@@ -423,7 +545,11 @@ public class Main {
         System.out.print("Enter item ID to remove: ");
         String itemId = scanner.nextLine();
 
-        menuManager.removeMenuItem(itemId);
+        if (menuManager.removeMenuItem(itemId)) {
+            System.out.println("Menu item removed.");
+        } else {
+            System.out.println("Item not found.");
+        }
     }
 
     private static void generateReports() {
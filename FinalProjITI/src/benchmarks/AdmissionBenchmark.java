@@ -0,0 +1,85 @@
+package benchmarks;
+
+import enums.AdmissionResult;
+import enums.BackpressurePolicy;
+import enums.LogLevel;
+import logging.Logger;
+import services.AdmissionController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Usage: java benchmarks.AdmissionBenchmark [threads] [seconds] [students]
+// Measures raw limiter decisions per second under contention, then how much of the
+// intake a single flooding client gets compared with well-behaved students
+public class AdmissionBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int students = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        Logger.setLevel(LogLevel.ERROR);
+
+        // Only the limiter is exercised, so no orders ever reach a processor.
+        // Limits are high enough that every decision goes through both buckets.
+        AdmissionController unlimited = new AdmissionController(null, 1e9, 1_000_000,
+                1e12, 1_000_000, 16, 1, BackpressurePolicy.DROP);
+        String[] studentIds = new String[students];
+        for (int i = 0; i < students; i++) {
+            studentIds[i] = "S" + i;
+        }
+        LongAdder decisions = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                int i = offset;
+                while (System.nanoTime() < deadline) {
+                    unlimited.tryAcquire(studentIds[i % students]);
+                    i += 7;
+                    decisions.increment();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        unlimited.shutdown(1, TimeUnit.SECONDS);
+
+        // One scripted client hammering as fast as it can while other students order
+        // ten times a second between them
+        AdmissionController limiter = new AdmissionController(null);
+        long floodAccepted = 0;
+        long floodRejected = 0;
+        long normalAccepted = 0;
+        int normalRequests = 0;
+        long now = System.nanoTime();
+        long end = now + seconds * 1_000_000_000L;
+        long nextNormal = now;
+        while ((now = System.nanoTime()) < end) {
+            if (limiter.tryAcquire("FLOOD") == AdmissionResult.ACCEPTED) {
+                floodAccepted++;
+            } else {
+                floodRejected++;
+            }
+            if (now >= nextNormal) {
+                nextNormal += 100_000_000L;
+                if (limiter.tryAcquire(studentIds[normalRequests++ % students]) == AdmissionResult.ACCEPTED) {
+                    normalAccepted++;
+                }
+            }
+        }
+        limiter.shutdown(1, TimeUnit.SECONDS);
+
+        System.out.println("=== Admission Benchmark ===");
+        System.out.println(String.format("Limiter decisions: %,.0f/s with %d threads over %,d students",
+                decisions.sum() / (double) seconds, threads, students));
+        System.out.println(String.format("Flooding client: %d accepted, %,d rejected; normal students: %d of %d accepted",
+                floodAccepted, floodRejected, normalAccepted, normalRequests));
+        System.out.println(limiter.getSummary());
+    }
+}
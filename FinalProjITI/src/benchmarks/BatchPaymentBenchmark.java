@@ -0,0 +1,64 @@
+package benchmarks;
+
+import enums.PaymentMethod;
+import models.BatchPaymentResult;
+import models.Order;
+import models.Payment;
+import models.Student;
+import services.MenuManager;
+import services.PaymentExecutors;
+import services.PaymentProcessor;
+import services.SimulatedPaymentGateway;
+import services.StudentManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Usage: java benchmarks.BatchPaymentBenchmark [payments] [perCallMs] [perBatchMs] [batchSize]
+public class BatchPaymentBenchmark {
+    public static void main(String[] args) {
+        int paymentCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long perCallMillis = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        long perBatchMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+        MenuManager menuManager = new MenuManager();
+        Student student = new StudentManager().getStudent("S1001");
+        PaymentProcessor paymentProcessor = new PaymentProcessor(
+                new SimulatedPaymentGateway(perCallMillis, perBatchMillis, batchSize),
+                PaymentExecutors.newDefaultExecutor());
+
+        // One payment at a time, as settlement works today
+        List<Payment> sequential = createPayments(paymentCount, student, menuManager, "SEQ");
+        long start = System.nanoTime();
+        int sequentialSucceeded = 0;
+        for (Payment payment : sequential) {
+            if (paymentProcessor.processPayment(payment)) {
+                sequentialSucceeded++;
+            }
+        }
+        double sequentialMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        BatchPaymentResult batched = paymentProcessor.processPayments(
+                createPayments(paymentCount, student, menuManager, "BAT"));
+        paymentProcessor.shutdown();
+
+        System.out.println("\n=== Batch Payment Benchmark ===");
+        System.out.println(String.format("Gateway: %dms per call, %dms per batch, batch size %d",
+                perCallMillis, perBatchMillis, batchSize));
+        System.out.println(String.format("Sequential: %d/%d succeeded in %.1fms (%.1f payments/s)",
+                sequentialSucceeded, paymentCount, sequentialMillis, paymentCount / (sequentialMillis / 1000.0)));
+        System.out.println("Batched:    " + batched);
+        System.out.println(String.format("Speedup: %.1fx", sequentialMillis / batched.getElapsedMillis()));
+    }
+
+    private static List<Payment> createPayments(int count, Student student, MenuManager menuManager, String prefix) {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order(prefix + "-ORD" + i, student);
+            order.addItem(menuManager.getMenuItemById("D1"));
+            payments.add(new Payment(prefix + "-PAY" + i, order, PaymentMethod.CREDIT_CARD));
+        }
+        return payments;
+    }
+}
@@ -0,0 +1,307 @@
+package benchmarks;
+
+import enums.LogLevel;
+import enums.MenuCategory;
+import enums.OrderStatus;
+import logging.Logger;
+import models.AvailabilityWindow;
+import models.MenuChange;
+import models.MenuItem;
+import models.Order;
+import models.OrderCalculator;
+import models.Student;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.QLearningRecommender;
+import services.ReportGenerator;
+import services.StudentManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Usage: java benchmarks.CoreServicesBenchmark [key=value ...]
+//   menuItems=10,100,1000  students=100,1000,10000  orders=1000,10000,100000  orderLines=1,10,100
+//   filter=<substring of benchmark name>  warmup=3  iterations=5  iterationMs=200
+//   out=benchmark-results.jsonl  compare=<results file from an earlier run>
+// Average time per call of the core service operations at each data size
+public class CoreServicesBenchmark {
+    private static final String[] CATEGORY_PREFIXES = {"M", "S", "D", "DS"}; // Matches the recommender's id scheme
+
+    private Map<String, String> options;
+    private String filter;
+    private int warmup;
+    private int iterations;
+    private long iterationMillis;
+    private List<MicroBenchmark.Result> results;
+
+    public CoreServicesBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.filter = options.getOrDefault("filter", "");
+        this.warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        this.iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        this.iterationMillis = Long.parseLong(options.getOrDefault("iterationMs", "200"));
+        this.results = new ArrayList<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        MicroBenchmark.useFastPasswordHashing();
+        Map<String, String> options = MicroBenchmark.parseOptions(args);
+        Logger.setLevel(LogLevel.OFF);
+        new CoreServicesBenchmark(options).run();
+        Logger.shutdown();
+    }
+
+    public void run() throws Exception {
+        System.out.println("=== Core Services Benchmark ===");
+        System.out.println(String.format("%-45s %-22s %14s %12s", "Benchmark", "Params", "ns/op", "error"));
+
+        for (int size : MicroBenchmark.parseSizes(options.getOrDefault("menuItems", "10,100,1000"))) {
+            menuBenchmarks(size);
+            recommenderBenchmarks(size);
+        }
+        for (int size : MicroBenchmark.parseSizes(options.getOrDefault("students", "100,1000,10000"))) {
+            studentBenchmarks(size);
+        }
+        for (int size : MicroBenchmark.parseSizes(options.getOrDefault("orderLines", "1,10,100"))) {
+            calculatorBenchmarks(size);
+        }
+        for (int size : MicroBenchmark.parseSizes(options.getOrDefault("orders", "1000,10000,100000"))) {
+            reportBenchmarks(size);
+        }
+
+        Path out = Paths.get(options.getOrDefault("out", "benchmark-results.jsonl"));
+        List<String> lines = new ArrayList<>();
+        for (MicroBenchmark.Result result : results) {
+            lines.add(result.toJson());
+        }
+        Files.write(out, lines);
+        System.out.println("Results written to " + out.toAbsolutePath());
+
+        if (options.containsKey("compare")) {
+            compare(Paths.get(options.get("compare")));
+        }
+    }
+
+    private void menuBenchmarks(int menuItems) throws Exception {
+        MenuManager menuManager = menuOf(menuItems);
+        List<MenuItem> menu = menuManager.getMenuItems();
+        String[] ids = shuffledIds(menu);
+        MenuCategory[] categories = MenuCategory.values();
+
+        measure(new MicroBenchmark("MenuManager.getMenuItems", () -> menuManager::getMenuItems)
+                .param("menuItems", menuItems));
+        measure(new MicroBenchmark("MenuManager.getMenuItemById", () -> {
+            int[] next = {0};
+            return () -> menuManager.getMenuItemById(ids[next[0]++ % ids.length]);
+        }).param("menuItems", menuItems));
+        measure(new MicroBenchmark("MenuManager.getMenuItemsByCategory", () -> {
+            int[] next = {0};
+            return () -> menuManager.getMenuItemsByCategory(categories[next[0]++ % categories.length]);
+        }).param("menuItems", menuItems));
+        measure(new MicroBenchmark("MenuManager.updateMenuItem", () -> {
+            int[] next = {0};
+            return () -> {
+                int i = next[0]++;
+                return menuManager.updateMenuItem(ids[i % ids.length],
+                        new MenuItem(null, null, null, 1.0 + (i % 20) * 0.25, null));
+            };
+        }).param("menuItems", menuItems));
+        // Daily specials: 100 price changes published as one snapshot
+        measure(new MicroBenchmark("MenuManager.applyMenuChanges", () -> {
+            int[] next = {0};
+            return () -> {
+                List<MenuChange> changes = new ArrayList<>();
+                for (int c = 0; c < 100; c++) {
+                    int i = next[0]++;
+                    changes.add(MenuChange.update(ids[i % ids.length],
+                            new MenuItem(null, null, null, 1.0 + (i % 20) * 0.25, null)));
+                }
+                return menuManager.applyMenuChanges(changes);
+            };
+        }).param("menuItems", menuItems));
+
+        // Meal periods on every category plus late-night hours on one item in 20: reading the
+        // menu served now is a lookup, and every change recompiles the week
+        MenuManager scheduled = withMealPeriods(menuOf(menuItems), ids);
+        measure(new MicroBenchmark("MenuManager.getCurrentMenu", () -> scheduled::getCurrentMenu)
+                .param("menuItems", menuItems).param("menus", scheduled.getSchedule().getMenuCount()));
+        measure(new MicroBenchmark("MenuManager.updateMenuItem", () -> {
+            int[] next = {0};
+            return () -> {
+                int i = next[0]++;
+                return scheduled.updateMenuItem(ids[i % ids.length],
+                        new MenuItem(null, null, null, 1.0 + (i % 20) * 0.25, null));
+            };
+        }).param("menuItems", menuItems).param("menus", scheduled.getSchedule().getMenuCount()));
+    }
+
+    // The recommender's cost follows how many items a student has Q-values for
+    private void recommenderBenchmarks(int menuItems) throws Exception {
+        List<MenuItem> menu = menuOf(menuItems).getMenuItems();
+        Student student = new Student("U1", "bench", "password", "Bench Student", "bench@university.edu", "S1");
+
+        measure(new MicroBenchmark("QLearningRecommender.updateQValue", () -> {
+            QLearningRecommender recommender = trainedRecommender(student, menu);
+            int[] next = {0};
+            return () -> {
+                recommender.updateQValue(student, menu.get(next[0]++ % menu.size()), 1.0);
+                return recommender;
+            };
+        }).param("menuItems", menuItems));
+        measure(new MicroBenchmark("QLearningRecommender.getRecommendations", () -> {
+            QLearningRecommender recommender = trainedRecommender(student, menu);
+            return () -> recommender.getRecommendations(student, menu, 5);
+        }).param("menuItems", menuItems));
+    }
+
+    private void studentBenchmarks(int students) throws Exception {
+        StudentManager loaded = studentsOf(students);
+        String[] usernames = new String[1024];
+        Random random = new Random(42);
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = "user" + random.nextInt(Math.max(1, students - 3));
+        }
+
+        measure(new MicroBenchmark("StudentManager.login", () -> {
+            int[] next = {0};
+            return () -> loaded.login(usernames[next[0]++ % usernames.length], "password");
+        }).param("students", students));
+
+        // Registering grows the population, so each iteration starts from a fresh one
+        // and measures a fixed number of registrations
+        int[] registered = {0};
+        measure(new MicroBenchmark("StudentManager.registerStudent", () -> {
+            StudentManager fresh = studentsOf(students);
+            return () -> {
+                int id = registered[0]++;
+                return fresh.registerStudent("N" + id, "new" + id, "password", "New Student " + id,
+                        "new" + id + "@university.edu");
+            };
+        }).param("students", students).batchSize(Math.max(10, Math.min(1000, 100_000 / students))));
+    }
+
+    private void calculatorBenchmarks(int orderLines) throws Exception {
+        List<MenuItem> menu = menuOf(Math.max(orderLines, 10)).getMenuItems();
+        Order order = new Order("ORD1", new Student("U1", "bench", "password", "Bench Student",
+                "bench@university.edu", "S1"));
+        for (int i = 0; i < orderLines; i++) {
+            order.addItem(menu.get(i), 1 + i % 3);
+        }
+        OrderCalculator calculator = order.getOrderCalculator();
+
+        measure(new MicroBenchmark("OrderCalculator.calculateTotal", () -> calculator::calculateTotal)
+                .param("orderLines", orderLines));
+    }
+
+    private void reportBenchmarks(int orders) throws Exception {
+        MenuManager menuManager = new MenuManager();
+        StudentManager studentManager = new StudentManager();
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager,
+                new PaymentProcessor(), new LoyaltyProgram());
+        Student student = studentManager.getStudent("S1001");
+        List<MenuItem> menu = menuManager.getMenuItems();
+        long day = 24L * 60 * 60 * 1000;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < orders; i++) {
+            // Three days of history, so the report has to filter as well as sum
+            Order order = new Order("ORD" + i, student, new Date(now - (i % 3) * day));
+            for (int j = 0; j < 3; j++) {
+                order.addItem(menu.get((i + j) % menu.size()));
+            }
+            orderProcessor.restoreOrder(order);
+            order.changeStatus(OrderStatus.COMPLETED);
+        }
+        ReportGenerator reportGenerator = new ReportGenerator(orderProcessor);
+        Date today = new Date(now);
+
+        measure(new MicroBenchmark("ReportGenerator.generateDailySalesReport",
+                () -> () -> reportGenerator.generateDailySalesReport(today)).param("orders", orders));
+        orderProcessor.shutdown();
+    }
+
+    private void measure(MicroBenchmark benchmark) throws Exception {
+        if (!benchmark.getName().contains(filter)) {
+            return;
+        }
+        MicroBenchmark.Result result = benchmark.run(warmup, iterations, iterationMillis);
+        results.add(result);
+        System.out.println(String.format("%-45s %-22s %14.1f %12s", result.getBenchmark(), result.getParams(),
+                result.getScore(), Double.isNaN(result.getError()) ? "" : String.format("+- %.1f", result.getError())));
+    }
+
+    private void compare(Path baseline) throws IOException {
+        Map<String, Double> before = MicroBenchmark.readScores(Files.readAllLines(baseline));
+        System.out.println();
+        System.out.println("Compared with " + baseline + " (negative is faster):");
+        for (MicroBenchmark.Result result : results) {
+            Double previous = before.get(result.getKey());
+            String change = previous == null || previous == 0 ? "new"
+                    : String.format("%+.1f%%", (result.getScore() - previous) / previous * 100);
+            System.out.println(String.format("%-68s %14s", result.getKey(), change));
+        }
+    }
+
+    private static MenuManager menuOf(int size) {
+        MenuManager menuManager = new MenuManager();
+        menuManager.clearMenu();
+        MenuCategory[] categories = MenuCategory.values();
+        List<MenuChange> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int category = i % categories.length;
+            items.add(MenuChange.add(new MenuItem(CATEGORY_PREFIXES[category] + i, "Item " + i,
+                    "Generated item " + i, 1.0 + (i % 20) * 0.25, categories[category])));
+        }
+        menuManager.applyMenuChanges(items);
+        return menuManager;
+    }
+
+    private static MenuManager withMealPeriods(MenuManager menuManager, String[] ids) {
+        menuManager.setCategoryAvailability(MenuCategory.DRINK, AvailabilityWindow.parseAll("DAILY 07:00-22:00"));
+        menuManager.setCategoryAvailability(MenuCategory.MAIN_COURSE,
+                AvailabilityWindow.parseAll("MON-FRI 11:00-14:30; MON-FRI 17:00-21:00; SAT,SUN 12:00-20:00"));
+        menuManager.setCategoryAvailability(MenuCategory.SNACK, AvailabilityWindow.parseAll("DAILY 10:00-02:00"));
+        menuManager.setCategoryAvailability(MenuCategory.DESSERT, AvailabilityWindow.parseAll("DAILY 12:00-22:00"));
+        List<AvailabilityWindow> lateNight = AvailabilityWindow.parseAll("THU-SAT 21:00-03:00");
+        for (int i = 0; i < ids.length; i += 20) {
+            menuManager.setItemAvailability(ids[i], lateNight);
+        }
+        return menuManager;
+    }
+
+    // Three sample students plus the generated ones, all with the password "password"
+    private static StudentManager studentsOf(int size) {
+        StudentManager studentManager = new StudentManager();
+        for (int i = 0; studentManager.getStudentCount() < size; i++) {
+            studentManager.registerStudent("G" + i, "user" + i, "password", "Student " + i,
+                    "student" + i + "@university.edu");
+        }
+        return studentManager;
+    }
+
+    private static QLearningRecommender trainedRecommender(Student student, List<MenuItem> menu) {
+        QLearningRecommender recommender = new QLearningRecommender();
+        for (MenuItem item : menu) {
+            recommender.updateQValue(student, item, item.getPrice());
+        }
+        return recommender;
+    }
+
+    private static String[] shuffledIds(List<MenuItem> menu) {
+        List<String> ids = new ArrayList<>();
+        for (MenuItem item : menu) {
+            ids.add(item.getItemId());
+        }
+        Collections.shuffle(ids, new Random(42));
+        return ids.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,189 @@
+package benchmarks;
+
+import enums.BackpressurePolicy;
+import enums.LogLevel;
+import logging.Logger;
+import metrics.LatencyHistogram;
+import server.CafeteriaServer;
+import server.JsonParser;
+import server.RequestExecutors;
+import services.AdmissionController;
+import services.IdGenerator;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentExecutors;
+import services.PaymentProcessor;
+import services.SimulatedPaymentGateway;
+import services.StudentManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Usage: java benchmarks.HttpApiBenchmark [key=value ...]
+//   clients=64  seconds=10  students=200  paymentMs=50
+// Requests per second through the ordering API on one machine, client and server in one JVM.
+// "browse" only reads the menu; "order" logs in once per client, then repeatedly fills a cart,
+// places the order (paying through a simulated gateway) and polls its status.
+public class HttpApiBenchmark {
+    private static final String[] ITEM_IDS = {"M1", "M2", "S1", "D1", "D3", "DS1"};
+
+    private int clients;
+    private int seconds;
+    private int studentCount;
+    private long paymentMillis;
+    private HttpClient http;
+    private String baseUrl;
+
+    private Map<String, LatencyHistogram> latencies;
+    private LongAdder failures;
+
+    public HttpApiBenchmark(Map<String, String> options) {
+        this.clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        this.seconds = Integer.parseInt(options.getOrDefault("seconds", "10"));
+        this.studentCount = Integer.parseInt(options.getOrDefault("students", "200"));
+        this.paymentMillis = Long.parseLong(options.getOrDefault("paymentMs", "50"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        MicroBenchmark.useFastPasswordHashing();
+        Map<String, String> options = MicroBenchmark.parseOptions(args);
+        Logger.setLevel(LogLevel.ERROR);
+        new HttpApiBenchmark(options).run();
+        Logger.shutdown();
+    }
+
+    public void run() throws Exception {
+        StudentManager studentManager = new StudentManager();
+        for (int i = 0; i < studentCount; i++) {
+            studentManager.registerStudent("B" + i, "bench" + i, "password", "Bench Student " + i,
+                    "bench" + i + "@university.edu");
+        }
+        MenuManager menuManager = new MenuManager();
+        LoyaltyProgram loyaltyProgram = new LoyaltyProgram();
+        PaymentProcessor paymentProcessor = new PaymentProcessor(
+                new SimulatedPaymentGateway(paymentMillis, paymentMillis, 100), PaymentExecutors.newDefaultExecutor());
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager, paymentProcessor, loyaltyProgram);
+        // Limits well above the offered load: this measures the API, not the rate limiter
+        AdmissionController admissionController = new AdmissionController(orderProcessor,
+                1_000_000, 1_000, 1_000_000, 10_000, 4_096, 2, BackpressurePolicy.BLOCK);
+        CafeteriaServer server = new CafeteriaServer(studentManager, menuManager, loyaltyProgram, orderProcessor,
+                paymentProcessor, admissionController, new IdGenerator());
+        server.start(0);
+        baseUrl = "http://localhost:" + server.getPort();
+        // HTTP/1.1 only: the JDK server has no h2c, and the client's upgrade attempts on GETs added ~40ms each
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(RequestExecutors.newPlatformExecutor())
+                .connectTimeout(Duration.ofSeconds(5)).build();
+
+        System.out.println("=== HTTP API Benchmark ===");
+        System.out.println(String.format("Clients: %d, %ds per scenario, simulated payment %dms, %s",
+                clients, seconds, paymentMillis,
+                server.isUsingVirtualThreads() ? "virtual threads" : "platform threads"));
+
+        scenario("browse", Math.max(1, seconds / 5), false); // Warm-up
+        report("browse", scenario("browse", seconds, false));
+        scenario("order", Math.max(1, seconds / 5), true);
+        report("order", scenario("order", seconds, true));
+
+        server.stop(0);
+        admissionController.shutdown(5, TimeUnit.SECONDS);
+        orderProcessor.shutdown();
+        paymentProcessor.shutdown();
+    }
+
+    private double scenario(String name, int durationSeconds, boolean ordering) throws InterruptedException {
+        latencies = new LinkedHashMap<>();
+        for (String route : new String[]{"GET /api/menu", "POST /api/login", "POST /api/cart",
+                "POST /api/orders", "GET /api/orders/{id}"}) {
+            latencies.put(route, new LatencyHistogram());
+        }
+        failures = new LongAdder();
+        LongAdder requests = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    String token = ordering ? login("bench" + (client % studentCount)) : null;
+                    requests.increment();
+                    int i = client;
+                    while (System.nanoTime() < deadline) {
+                        if (!ordering) {
+                            call("GET /api/menu", "GET", "/api/menu", null, null);
+                            requests.increment();
+                            continue;
+                        }
+                        call("POST /api/cart", "POST", "/api/cart", token,
+                                "{\"itemId\":\"" + ITEM_IDS[i++ % ITEM_IDS.length] + "\",\"quantity\":2}");
+                        call("POST /api/cart", "POST", "/api/cart", token,
+                                "{\"itemId\":\"" + ITEM_IDS[i++ % ITEM_IDS.length] + "\"}");
+                        Map<String, String> order = JsonParser.parseObject(firstLevel(
+                                call("POST /api/orders", "POST", "/api/orders", token, "{}")));
+                        requests.add(3);
+                        if (order.get("orderId") != null) {
+                            call("GET /api/orders/{id}", "GET", "/api/orders/" + order.get("orderId"), token, null);
+                            requests.increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.increment();
+                }
+            }, name + "-client-" + c);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return requests.sum() / (double) durationSeconds;
+    }
+
+    private String login(String username) throws Exception {
+        String body = call("POST /api/login", "POST", "/api/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password\"}");
+        return JsonParser.parseObject(body).get("token");
+    }
+
+    private String call(String route, String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        latencies.get(route).recordSince(start);
+        if (response.statusCode() >= 400) {
+            failures.increment();
+        }
+        return response.body();
+    }
+
+    // Order responses nest their lines; only the top-level scalar fields are needed here
+    private static String firstLevel(String json) {
+        int lines = json.indexOf(",\"lines\"");
+        return lines < 0 ? json : json.substring(0, lines) + "}";
+    }
+
+    private void report(String name, double requestsPerSecond) {
+        System.out.println(String.format("%n%s: %,.0f requests/s, %d failed", name, requestsPerSecond, failures.sum()));
+        for (Map.Entry<String, LatencyHistogram> route : latencies.entrySet()) {
+            if (route.getValue().getCount() > 0) {
+                System.out.println(String.format("  %-22s %s", route.getKey(), route.getValue().getSummary()));
+            }
+        }
+    }
+}
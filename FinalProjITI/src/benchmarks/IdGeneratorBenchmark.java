@@ -0,0 +1,60 @@
+package benchmarks;
+
+import services.IdGenerator;
+
+import java.util.Arrays;
+
+// Usage: java benchmarks.IdGeneratorBenchmark [threads] [idsPerThread]
+public class IdGeneratorBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int idsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        IdGenerator generator = new IdGenerator(1);
+        long[][] generated = new long[threadCount][idsPerThread];
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            long[] ids = generated[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        // Each thread must see strictly increasing IDs, and no ID may repeat across threads
+        boolean ordered = true;
+        for (long[] ids : generated) {
+            for (int i = 1; i < ids.length; i++) {
+                if (ids[i] <= ids[i - 1]) {
+                    ordered = false;
+                }
+            }
+        }
+        long[] all = Arrays.stream(generated).flatMapToLong(Arrays::stream).sorted().toArray();
+        int duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                duplicates++;
+            }
+        }
+
+        long total = (long) threadCount * idsPerThread;
+        System.out.println("=== ID Generator Benchmark ===");
+        System.out.println("Threads: " + threadCount + ", IDs: " + total);
+        System.out.println(String.format("Elapsed: %.3fs", elapsedSeconds));
+        System.out.println(String.format("Throughput: %.2f million IDs/s", total / elapsedSeconds / 1_000_000.0));
+        System.out.println("Duplicates: " + duplicates);
+        System.out.println("Per-thread time ordered: " + ordered);
+        System.out.println("Sample: " + "ORD" + IdGenerator.encode(all[all.length - 1]));
+    }
+}
@@ -0,0 +1,204 @@
+package benchmarks;
+
+import enums.LogLevel;
+import enums.MenuCategory;
+import logging.Logger;
+import models.MenuItem;
+import models.Order;
+import models.OrderLine;
+import models.Student;
+import services.Inventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Usage: java benchmarks.InventoryContentionBenchmark [key=value ...]
+//   threads=256  checkouts=200000  items=4  stock=20000  cancelRate=0.1
+// Many threads check out orders of 1-2 lines against a few hot items until stock runs out.
+// Each reservation is then completed or, at cancelRate, cancelled and put back on sale.
+// Runs the lock-free Inventory and a single-lock baseline on the same workload, and checks
+// afterwards that no item sold more than it had and that every unit is accounted for.
+public class InventoryContentionBenchmark {
+    // The same operations with one lock around all items, for comparison
+    private static class GlobalLockStock {
+        private Map<String, int[]> levels = new HashMap<>(); // itemId -> {available, reserved}
+
+        synchronized void setStock(String itemId, int onHand) {
+            levels.put(itemId, new int[]{onHand, 0});
+        }
+
+        synchronized boolean reserve(Order order) {
+            for (OrderLine line : order.getOrderItems().getLines()) {
+                if (levels.get(line.getItemId())[0] < line.getQuantity()) {
+                    return false;
+                }
+            }
+            for (OrderLine line : order.getOrderItems().getLines()) {
+                int[] level = levels.get(line.getItemId());
+                level[0] -= line.getQuantity();
+                level[1] += line.getQuantity();
+            }
+            return true;
+        }
+
+        synchronized void settle(Order order, boolean sold) {
+            for (OrderLine line : order.getOrderItems().getLines()) {
+                int[] level = levels.get(line.getItemId());
+                level[1] -= line.getQuantity();
+                if (!sold) {
+                    level[0] += line.getQuantity();
+                }
+            }
+        }
+
+        synchronized int getAvailable(String itemId) {
+            return levels.get(itemId)[0];
+        }
+
+        synchronized int getReserved(String itemId) {
+            return levels.get(itemId)[1];
+        }
+    }
+
+    private interface StockOperations {
+        boolean reserve(Order order);
+        void settle(Order order, boolean sold);
+        int getAvailable(String itemId);
+        int getReserved(String itemId);
+    }
+
+    private int threadCount;
+    private int checkouts;
+    private int stock;
+    private double cancelRate;
+    private MenuItem[] items;
+    private Student student;
+
+    public InventoryContentionBenchmark(Map<String, String> options) {
+        this.threadCount = Integer.parseInt(options.getOrDefault("threads", "256"));
+        this.checkouts = Integer.parseInt(options.getOrDefault("checkouts", "200000"));
+        this.stock = Integer.parseInt(options.getOrDefault("stock", "20000"));
+        this.cancelRate = Double.parseDouble(options.getOrDefault("cancelRate", "0.1"));
+        this.items = new MenuItem[Integer.parseInt(options.getOrDefault("items", "4"))];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new MenuItem("H" + i, "Hot Item " + i, "Lunch special", 5.0, MenuCategory.MAIN_COURSE);
+        }
+        this.student = new Student("B1", "bench", "password", "Bench Student", "bench@university.edu", "S1");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = MicroBenchmark.parseOptions(args);
+        Logger.setLevel(LogLevel.OFF);
+        new InventoryContentionBenchmark(options).run();
+        Logger.shutdown();
+    }
+
+    public void run() throws InterruptedException {
+        System.out.println("=== Inventory Contention Benchmark ===");
+        System.out.println(String.format("Threads: %d, checkouts: %,d, %d items x %,d units, cancel rate %.0f%%",
+                threadCount, checkouts, items.length, stock, cancelRate * 100));
+
+        for (int round = 0; round < 2; round++) { // The first round warms up both
+            boolean report = round == 1;
+
+            Inventory inventory = new Inventory();
+            for (MenuItem item : items) {
+                inventory.setStock(item.getItemId(), stock);
+            }
+            measure("lock-free", report, new StockOperations() {
+                public boolean reserve(Order order) { return inventory.reserve(order); }
+                public void settle(Order order, boolean sold) {
+                    if (sold) {
+                        inventory.commit(order);
+                    } else {
+                        inventory.release(order);
+                    }
+                }
+                public int getAvailable(String itemId) { return inventory.getAvailable(itemId); }
+                public int getReserved(String itemId) { return inventory.getReserved(itemId); }
+            });
+
+            GlobalLockStock baseline = new GlobalLockStock();
+            for (MenuItem item : items) {
+                baseline.setStock(item.getItemId(), stock);
+            }
+            measure("global lock", report, new StockOperations() {
+                public boolean reserve(Order order) { return baseline.reserve(order); }
+                public void settle(Order order, boolean sold) { baseline.settle(order, sold); }
+                public int getAvailable(String itemId) { return baseline.getAvailable(itemId); }
+                public int getReserved(String itemId) { return baseline.getReserved(itemId); }
+            });
+        }
+    }
+
+    private void measure(String name, boolean report, StockOperations operations) throws InterruptedException {
+        Map<String, LongAdder> sold = new HashMap<>();
+        for (MenuItem item : items) {
+            sold.put(item.getItemId(), new LongAdder());
+        }
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        AtomicLong nextCheckout = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long checkout;
+                while ((checkout = nextCheckout.getAndIncrement()) < checkouts) {
+                    Order order = new Order("C" + checkout, student);
+                    order.addItem(items[random.nextInt(items.length)], 1 + random.nextInt(2));
+                    if (random.nextBoolean()) {
+                        order.addItem(items[random.nextInt(items.length)], 1);
+                    }
+                    if (!operations.reserve(order)) {
+                        rejected.increment();
+                        continue;
+                    }
+                    accepted.increment();
+                    boolean completed = random.nextDouble() >= cancelRate;
+                    operations.settle(order, completed);
+                    if (completed) {
+                        for (OrderLine line : order.getOrderItems().getLines()) {
+                            sold.get(line.getItemId()).add(line.getQuantity());
+                        }
+                    }
+                }
+            }, name + "-checkout-" + t);
+            threads[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        if (!report) {
+            return;
+        }
+
+        // Every unit is either sold or still on the shelf; nothing is left reserved
+        long oversold = 0;
+        boolean balanced = true;
+        for (MenuItem item : items) {
+            long itemSold = sold.get(item.getItemId()).sum();
+            oversold += Math.max(0, itemSold - stock);
+            balanced &= itemSold + operations.getAvailable(item.getItemId()) == stock
+                    && operations.getReserved(item.getItemId()) == 0;
+        }
+        System.out.println(String.format("%n%s: %,.0f checkouts/s", name, checkouts / seconds));
+        System.out.println(String.format("  accepted %,d, rejected as out of stock %,d", accepted.sum(), rejected.sum()));
+        System.out.println(String.format("  oversold units: %d, stock balanced: %s", oversold, balanced));
+    }
+}
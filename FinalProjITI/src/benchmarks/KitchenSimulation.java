@@ -0,0 +1,103 @@
+package benchmarks;
+
+import enums.KitchenPolicy;
+import enums.LogLevel;
+import logging.Logger;
+import models.CookBatch;
+import models.MenuItem;
+import models.Order;
+import models.Student;
+import services.KitchenScheduler;
+import services.MenuManager;
+import services.StudentManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Usage: java benchmarks.KitchenSimulation [orders] [rushMinutes] [seed]
+// Discrete-event simulation of a lunch rush: the same seeded order stream is cooked
+// under each kitchen policy and the resulting ticket times are compared.
+public class KitchenSimulation {
+    private static class Arrival {
+        private long at;
+        private Order order;
+
+        Arrival(long at, Order order) {
+            this.at = at;
+            this.order = order;
+        }
+    }
+
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rushMinutes = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        Logger.setLevel(LogLevel.WARN);
+
+        List<Arrival> arrivals = generateOrders(orderCount, rushMinutes, seed);
+
+        System.out.println("=== Kitchen Simulation ===");
+        System.out.println("Orders: " + orderCount + " over " + rushMinutes + " min, seed " + seed);
+        for (KitchenPolicy policy : KitchenPolicy.values()) {
+            KitchenScheduler scheduler = new KitchenScheduler(null, policy, KitchenScheduler.DEFAULT_SLACK_MILLIS);
+            long lastReady = simulate(scheduler, arrivals);
+            double hours = lastReady / (double) TimeUnit.HOURS.toMillis(1);
+            System.out.println(String.format("%-11s  throughput %.0f orders/h  ticket mean %.1f min  p50 %.1f  p95 %.1f  " +
+                            "late %.0f%%  %.2f units/batch",
+                    policy, scheduler.getCompletedTickets() / hours,
+                    scheduler.getTicketTimes().getMeanMillis() / 60_000.0,
+                    scheduler.getTicketTimes().getPercentileMillis(50) / 60_000.0,
+                    scheduler.getTicketTimes().getPercentileMillis(95) / 60_000.0,
+                    100.0 * scheduler.getLateTickets() / Math.max(1, scheduler.getCompletedTickets()),
+                    scheduler.getUnitsCooked() / (double) Math.max(1, scheduler.getBatchesCooked())));
+        }
+    }
+
+    // Poisson arrivals; each order has one to three lines of one or two units
+    private static List<Arrival> generateOrders(int orderCount, int rushMinutes, long seed) {
+        Random random = new Random(seed);
+        MenuManager menuManager = new MenuManager();
+        Student student = new StudentManager().getStudent("S1001");
+        List<MenuItem> menu = menuManager.getMenuItems();
+        double meanGapMillis = TimeUnit.MINUTES.toMillis(rushMinutes) / (double) orderCount;
+
+        List<Arrival> arrivals = new ArrayList<>(orderCount);
+        long now = 0;
+        for (int i = 0; i < orderCount; i++) {
+            now += (long) (-Math.log(1 - random.nextDouble()) * meanGapMillis);
+            Order order = new Order("SIM" + i, student);
+            int lines = 1 + random.nextInt(3);
+            for (int line = 0; line < lines; line++) {
+                order.addItem(menu.get(random.nextInt(menu.size())), 1 + random.nextInt(2));
+            }
+            arrivals.add(new Arrival(now, order));
+        }
+        return arrivals;
+    }
+
+    // Returns the simulated time at which the last batch finished
+    private static long simulate(KitchenScheduler scheduler, List<Arrival> arrivals) {
+        PriorityQueue<CookBatch> cooking = new PriorityQueue<>(Comparator.comparingLong(CookBatch::getFinishesAt));
+        int next = 0;
+        long now = 0;
+        while (next < arrivals.size() || !cooking.isEmpty()) {
+            boolean arrivalFirst = next < arrivals.size() &&
+                    (cooking.isEmpty() || arrivals.get(next).at < cooking.peek().getFinishesAt());
+            if (arrivalFirst) {
+                Arrival arrival = arrivals.get(next++);
+                now = arrival.at;
+                scheduler.addTicket(arrival.order, now);
+            } else {
+                CookBatch finished = cooking.poll();
+                now = finished.getFinishesAt();
+                scheduler.complete(finished, now);
+            }
+            cooking.addAll(scheduler.dispatch(now));
+        }
+        return now;
+    }
+}
@@ -0,0 +1,80 @@
+package benchmarks;
+
+import enums.LogLevel;
+import logging.AsyncLogWriter;
+import logging.Logger;
+import models.MenuItem;
+import models.Order;
+import models.Student;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.StudentManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Usage: java benchmarks.LoggingBenchmark [ordersPerThread] [threads]
+// Measures processOrder throughput with logging off, at INFO and at DEBUG (rolling file)
+public class LoggingBenchmark {
+    public static void main(String[] args) throws Exception {
+        int ordersPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        Path directory = Files.createTempDirectory("logs");
+
+        System.out.println("=== Logging Benchmark ===");
+        System.out.println("Threads: " + threads + ", orders per thread: " + ordersPerThread);
+        Logger.configure(LogLevel.OFF, null);
+        run(ordersPerThread / 2, threads); // Warm-up
+
+        for (LogLevel level : new LogLevel[]{LogLevel.OFF, LogLevel.INFO, LogLevel.DEBUG}) {
+            AsyncLogWriter writer = AsyncLogWriter.rollingFile(directory.resolve("bench.log"), 50_000_000, 2, 65_536);
+            Logger.configure(level, writer);
+            double seconds = run(ordersPerThread, threads);
+            Logger.configure(LogLevel.OFF, null); // Drains and closes the file writer
+            System.out.println(String.format("%-5s  %,10.0f orders/s  (%,d lines written, %,d dropped)",
+                    level, ordersPerThread * threads / seconds, writer.getWrittenCount(), writer.getDroppedCount()));
+        }
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static double run(int ordersPerThread, int threads) throws InterruptedException {
+        MenuManager menuManager = new MenuManager();
+        StudentManager studentManager = new StudentManager();
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager,
+                new PaymentProcessor(), new LoyaltyProgram());
+        Student student = studentManager.getStudent("S1001");
+        List<MenuItem> menu = menuManager.getMenuItems();
+        AtomicInteger nextOrder = new AtomicInteger();
+
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < ordersPerThread; i++) {
+                    int orderNumber = nextOrder.getAndIncrement();
+                    Order order = new Order("BENCH" + orderNumber, student);
+                    order.addItem(menu.get(orderNumber % menu.size()));
+                    order.addItem(menu.get((orderNumber + 1) % menu.size()), 2);
+                    orderProcessor.processOrder(order);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        orderProcessor.shutdown(); // Includes the queued loyalty and notification work
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,285 @@
+package benchmarks;
+
+import enums.LogLevel;
+import enums.OrderStatus;
+import enums.PaymentMethod;
+import logging.Logger;
+import metrics.LatencyHistogram;
+import models.CartItem;
+import models.MenuItem;
+import models.Order;
+import models.Payment;
+import models.Student;
+import services.IdGenerator;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentExecutors;
+import services.PaymentProcessor;
+import services.SimulatedPaymentGateway;
+import services.StudentManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Usage: java benchmarks.LunchRushSimulator [key=value ...]
+//   seed=42 students=500 seconds=60 peakRate=40 curve=LUNCH|RAMP|FLAT
+//   basketMin=1 basketMax=4 paymentMs=50 statusDelayMs=500 redeemRate=0.05
+// Drives the services headlessly the way the lunch rush does: students log in, fill a cart,
+// pay and order, and staff move the orders through PREPARING, READY and COMPLETED.
+// The visit plan (arrival times, who orders what) comes from the seed, so two builds can
+// be compared on exactly the same traffic. Arrivals are open-loop: a slow system does not
+// slow the arrivals down, and queueing shows up as start lag.
+public class LunchRushSimulator {
+    enum ArrivalCurve {
+        FLAT,  // Constant peak rate
+        RAMP,  // Linear climb to the peak
+        LUNCH; // Bell curve peaking halfway through
+
+        double fractionOfPeak(double progress) {
+            switch (this) {
+                case RAMP:
+                    return progress;
+                case LUNCH:
+                    double distance = (progress - 0.5) / 0.18;
+                    return Math.exp(-distance * distance / 2);
+                default:
+                    return 1.0;
+            }
+        }
+    }
+
+    private static class Visit {
+        private long offsetNanos;
+        private int studentIndex;
+        private Map<Integer, Integer> basket = new HashMap<>(); // Menu index -> quantity
+        private boolean redeemReward;
+    }
+
+    // Configuration
+    private long seed;
+    private int studentCount;
+    private int seconds;
+    private double peakRate;
+    private ArrivalCurve curve;
+    private int basketMin;
+    private int basketMax;
+    private long paymentMillis;
+    private long statusDelayMillis;
+    private double redeemRate;
+
+    // Results
+    private LatencyHistogram startLag = new LatencyHistogram();
+    private LatencyHistogram login = new LatencyHistogram();
+    private LatencyHistogram cartToOrder = new LatencyHistogram();
+    private LatencyHistogram statusUpdate = new LatencyHistogram();
+    private AtomicLong ordersPlaced = new AtomicLong();
+    private AtomicLong ordersFailed = new AtomicLong();
+    private AtomicLong rewardsRedeemed = new AtomicLong();
+
+    public LunchRushSimulator(Map<String, String> options) {
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.studentCount = Integer.parseInt(options.getOrDefault("students", "500"));
+        this.seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        this.peakRate = Double.parseDouble(options.getOrDefault("peakRate", "40"));
+        this.curve = ArrivalCurve.valueOf(options.getOrDefault("curve", "LUNCH").toUpperCase());
+        this.basketMin = Integer.parseInt(options.getOrDefault("basketMin", "1"));
+        this.basketMax = Integer.parseInt(options.getOrDefault("basketMax", "4"));
+        this.paymentMillis = Long.parseLong(options.getOrDefault("paymentMs", "50"));
+        this.statusDelayMillis = Long.parseLong(options.getOrDefault("statusDelayMs", "500"));
+        this.redeemRate = Double.parseDouble(options.getOrDefault("redeemRate", "0.05"));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        MicroBenchmark.useFastPasswordHashing();
+        Map<String, String> options = MicroBenchmark.parseOptions(args);
+        Logger.setLevel(LogLevel.ERROR);
+        new LunchRushSimulator(options).run();
+    }
+
+    // Non-homogeneous Poisson arrivals by thinning a peak-rate process
+    private List<Visit> planVisits(int menuSize) {
+        Random random = new Random(seed);
+        long durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+        List<Visit> visits = new ArrayList<>();
+        double t = 0;
+        while (true) {
+            t += -Math.log(1 - random.nextDouble()) / peakRate * 1_000_000_000L;
+            if (t >= durationNanos) {
+                break;
+            }
+            if (random.nextDouble() > curve.fractionOfPeak(t / durationNanos)) {
+                continue;
+            }
+
+            Visit visit = new Visit();
+            visit.offsetNanos = (long) t;
+            visit.studentIndex = random.nextInt(studentCount);
+            int basketSize = basketMin + random.nextInt(basketMax - basketMin + 1);
+            for (int i = 0; i < basketSize; i++) {
+                visit.basket.merge(random.nextInt(menuSize), 1 + random.nextInt(2), Integer::sum);
+            }
+            visit.redeemReward = random.nextDouble() < redeemRate;
+            visits.add(visit);
+        }
+        return visits;
+    }
+
+    public void run() throws InterruptedException {
+        MenuManager menuManager = new MenuManager();
+        StudentManager studentManager = new StudentManager();
+        LoyaltyProgram loyaltyProgram = new LoyaltyProgram();
+        PaymentProcessor paymentProcessor = new PaymentProcessor(
+                new SimulatedPaymentGateway(paymentMillis, paymentMillis, 100), PaymentExecutors.newDefaultExecutor());
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager, paymentProcessor, loyaltyProgram);
+        IdGenerator idGenerator = new IdGenerator();
+        Random balances = new Random(seed);
+        for (int i = 0; i < studentCount; i++) {
+            studentManager.registerStudent("SIM" + i, "rush" + i, "pw" + i, "Rush Student " + i,
+                    "rush" + i + "@university.edu");
+            studentManager.getStudent("SIM" + i).addPoints(balances.nextInt(300)); // Regulars have points to spend
+        }
+        List<MenuItem> menu = menuManager.getMenuItems();
+        List<String> rewardIds = new ArrayList<>(new TreeSet<>(loyaltyProgram.getRewards().keySet()));
+        List<Visit> visits = planVisits(menu.size());
+
+        ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rush-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorService customers = PaymentExecutors.newDefaultExecutor();
+        ScheduledExecutorService staff = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "rush-staff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch visitsDone = new CountDownLatch(visits.size());
+        CountDownLatch updatesDone = new CountDownLatch(visits.size());
+
+        System.out.println("=== Lunch Rush Simulator ===");
+        System.out.println(String.format("seed=%d students=%d seconds=%d peakRate=%.1f/s curve=%s basket=%d-%d " +
+                        "paymentMs=%d statusDelayMs=%d -> %d visits",
+                seed, studentCount, seconds, peakRate, curve, basketMin, basketMax,
+                paymentMillis, statusDelayMillis, visits.size()));
+
+        long start = System.nanoTime();
+        for (Visit visit : visits) {
+            clock.schedule(() -> customers.execute(() -> {
+                boolean updatesScheduled = false;
+                try {
+                    long intendedStart = start + visit.offsetNanos;
+                    startLag.record(System.nanoTime() - intendedStart);
+                    Order order = visit(visit, studentManager, menu, paymentProcessor, orderProcessor,
+                            loyaltyProgram, rewardIds, idGenerator);
+                    if (order != null) {
+                        scheduleStatusUpdates(staff, orderProcessor, order.getOrderId(), 1, updatesDone);
+                        updatesScheduled = true;
+                    }
+                } finally {
+                    // Also when the visit threw, or the wait for status updates below never ends
+                    if (!updatesScheduled) {
+                        updatesDone.countDown();
+                    }
+                    visitsDone.countDown();
+                }
+            }), start + visit.offsetNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        visitsDone.await();
+        double intakeSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        updatesDone.await();
+        clock.shutdown();
+        customers.shutdown();
+        staff.shutdown();
+        orderProcessor.shutdown();
+        paymentProcessor.shutdown();
+
+        System.out.println(String.format("Orders placed: %d, failed: %d, rewards redeemed: %d",
+                ordersPlaced.get(), ordersFailed.get(), rewardsRedeemed.get()));
+        System.out.println(String.format("Throughput: %.1f orders/s over %.1fs", ordersPlaced.get() / intakeSeconds, intakeSeconds));
+        printHistogram("start lag", startLag);
+        printHistogram("login", login);
+        printHistogram("cart-to-order", cartToOrder);
+        printHistogram("status update", statusUpdate);
+    }
+
+    private Order visit(Visit visit, StudentManager studentManager, List<MenuItem> menu,
+                        PaymentProcessor paymentProcessor, OrderProcessor orderProcessor,
+                        LoyaltyProgram loyaltyProgram, List<String> rewardIds, IdGenerator idGenerator) {
+        long started = System.nanoTime();
+        Student student = studentManager.login("rush" + visit.studentIndex, "pw" + visit.studentIndex);
+        login.recordSince(started);
+        if (student == null) {
+            ordersFailed.incrementAndGet();
+            return null;
+        }
+
+        // One session per student at a time, as at a real kiosk
+        Order order = new Order(idGenerator.nextOrderId(), student);
+        synchronized (student) {
+            for (Map.Entry<Integer, Integer> line : visit.basket.entrySet()) {
+                student.addToCart(menu.get(line.getKey()), line.getValue());
+            }
+            started = System.nanoTime();
+            for (CartItem cartItem : student.getCartItems()) {
+                order.addItem(cartItem.getItem(), cartItem.getQuantity());
+            }
+            student.clearCart();
+        }
+
+        Payment payment = new Payment(idGenerator.nextPaymentId(), order, PaymentMethod.CREDIT_CARD);
+        boolean placed = paymentProcessor.processPayment(payment) && orderProcessor.processOrder(order);
+        cartToOrder.recordSince(started);
+        if (!placed) {
+            ordersFailed.incrementAndGet();
+            return null;
+        }
+        ordersPlaced.incrementAndGet();
+        student.addOrderToHistory(order.getOrderId());
+
+        if (visit.redeemReward && !rewardIds.isEmpty() &&
+                loyaltyProgram.redeemReward(student, rewardIds.get(visit.studentIndex % rewardIds.size()))) {
+            rewardsRedeemed.incrementAndGet();
+        }
+        return order;
+    }
+
+    // PREPARING, READY, COMPLETED, each statusDelayMs after the previous one
+    private void scheduleStatusUpdates(ScheduledExecutorService staff, OrderProcessor orderProcessor,
+                                       String orderId, int step, CountDownLatch updatesDone) {
+        OrderStatus[] steps = {OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.COMPLETED};
+        staff.schedule(() -> {
+            boolean nextScheduled = false;
+            try {
+                long started = System.nanoTime();
+                orderProcessor.updateOrderStatus(orderId, steps[step]);
+                statusUpdate.recordSince(started);
+                if (step + 1 < steps.length) {
+                    scheduleStatusUpdates(staff, orderProcessor, orderId, step + 1, updatesDone);
+                    nextScheduled = true;
+                }
+            } finally {
+                if (!nextScheduled) {
+                    updatesDone.countDown();
+                }
+            }
+        }, statusDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void printHistogram(String name, LatencyHistogram histogram) {
+        System.out.println(String.format("%-14s n=%-7d p50=%9.3fms  p99=%9.3fms  p999=%9.3fms  max=%9.3fms",
+                name, histogram.getCount(), histogram.getPercentileMillis(50), histogram.getPercentileMillis(99),
+                histogram.getPercentileMillis(99.9), histogram.getMaxMillis()));
+    }
+}
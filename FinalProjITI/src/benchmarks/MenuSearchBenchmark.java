@@ -0,0 +1,123 @@
+package benchmarks;
+
+import enums.LogLevel;
+import enums.MenuCategory;
+import logging.Logger;
+import models.MenuItem;
+import services.MenuSearchIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Usage: java benchmarks.MenuSearchBenchmark [key=value ...]
+//   items=1000,10000  filter=<substring of benchmark name>  warmup=5  iterations=5  iterationMs=200
+// Query latency of the menu search index over generated multi-outlet menus, for exact words,
+// autocomplete prefixes, misspelled queries, and the cost of re-indexing one edited item
+public class MenuSearchBenchmark {
+    private static final String[] STYLES = {"Grilled", "Crispy", "Spicy", "Smoked", "Roasted", "Fresh", "Classic",
+            "Garlic", "Honey", "Lemon", "BBQ", "Teriyaki", "Cajun", "Herb", "Buffalo", "Pesto"};
+    private static final String[] BASES = {"Chicken", "Beef", "Turkey", "Salmon", "Tofu", "Falafel", "Halloumi",
+            "Shrimp", "Pork", "Lamb", "Mushroom", "Veggie", "Egg", "Tuna", "Paneer", "Bean"};
+    private static final String[] DISHES = {"Sandwich", "Wrap", "Burger", "Salad", "Bowl", "Pizza", "Panini",
+            "Taco", "Burrito", "Soup", "Noodles", "Curry", "Quesadilla", "Skewers", "Pasta", "Omelette"};
+    private static final String[] DESCRIPTION_WORDS = {"served", "with", "toasted", "bread", "rice", "greens",
+            "cheese", "sauce", "house", "made", "seasonal", "vegetables", "pickles", "aioli", "chips", "slaw",
+            "tomato", "onion", "avocado", "yogurt", "chili", "lime", "basil", "sesame"};
+    private static final String[] OUTLETS = {"North Hall", "Library Cafe", "Sports Center", "Engineering Kiosk"};
+
+    private static final String[] EXACT_QUERIES = {"chicken sandwich", "salmon bowl", "tofu curry", "falafel wrap"};
+    private static final String[] PREFIX_QUERIES = {"chi", "burr", "quesa", "sal", "pan"};
+    private static final String[] TYPO_QUERIES = {"chiken sandwch", "salmn bowl", "tofoo cury", "falafle wrp",
+            "quesadila", "buritto"};
+
+    private Map<String, String> options;
+    private String filter;
+    private int warmup;
+    private int iterations;
+    private long iterationMillis;
+
+    public MenuSearchBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.filter = options.getOrDefault("filter", "");
+        this.warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        this.iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        this.iterationMillis = Long.parseLong(options.getOrDefault("iterationMs", "200"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = MicroBenchmark.parseOptions(args);
+        Logger.setLevel(LogLevel.OFF);
+        new MenuSearchBenchmark(options).run();
+        Logger.shutdown();
+    }
+
+    public void run() throws Exception {
+        System.out.println("=== Menu Search Benchmark ===");
+        System.out.println(String.format("%-32s %-16s %14s %12s", "Benchmark", "Params", "us/op", "error"));
+
+        for (int size : MicroBenchmark.parseSizes(options.getOrDefault("items", "1000,10000"))) {
+            List<MenuItem> menu = generateMenu(size);
+            MenuSearchIndex index = new MenuSearchIndex();
+            long start = System.nanoTime();
+            for (MenuItem item : menu) {
+                index.add(item);
+            }
+            System.out.println(String.format("(%d items, %d distinct words, indexed in %.1fms)",
+                    size, index.getWordCount(), (System.nanoTime() - start) / 1e6));
+
+            measure("search.exact", size, rotating(index, EXACT_QUERIES, true));
+            measure("search.prefix", size, rotating(index, PREFIX_QUERIES, true));
+            measure("search.typo", size, rotating(index, TYPO_QUERIES, true));
+            measure("complete", size, rotating(index, PREFIX_QUERIES, false));
+            measure("reindexItem", size, () -> {
+                int[] next = {0};
+                return () -> {
+                    MenuItem item = menu.get(next[0]++ % menu.size());
+                    index.remove(item);
+                    index.add(item);
+                    return index;
+                };
+            });
+        }
+    }
+
+    private static MicroBenchmark.Fixture rotating(MenuSearchIndex index, String[] queries, boolean search) {
+        return () -> {
+            int[] next = {0};
+            return () -> search ? index.search(queries[next[0]++ % queries.length], 10)
+                    : index.complete(queries[next[0]++ % queries.length], 10);
+        };
+    }
+
+    private void measure(String name, int items, MicroBenchmark.Fixture fixture) throws Exception {
+        if (!name.contains(filter)) {
+            return;
+        }
+        MicroBenchmark.Result result = new MicroBenchmark(name, fixture).param("items", items)
+                .run(warmup, iterations, iterationMillis);
+        System.out.println(String.format("%-32s %-16s %14.2f %12s", name, result.getParams(),
+                result.getScore() / 1000, Double.isNaN(result.getError()) ? ""
+                        : String.format("+- %.2f", result.getError() / 1000)));
+    }
+
+    // Every style/base/dish combination exists at each outlet, so common words like "chicken"
+    // match hundreds of items at 10k
+    private static List<MenuItem> generateMenu(int size) {
+        Random random = new Random(42);
+        MenuCategory[] categories = MenuCategory.values();
+        List<MenuItem> menu = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = STYLES[random.nextInt(STYLES.length)] + " " + BASES[random.nextInt(BASES.length)] + " "
+                    + DISHES[random.nextInt(DISHES.length)];
+            StringBuilder description = new StringBuilder(OUTLETS[i % OUTLETS.length]).append(':');
+            for (int w = 0; w < 6; w++) {
+                description.append(' ').append(DESCRIPTION_WORDS[random.nextInt(DESCRIPTION_WORDS.length)]);
+            }
+            menu.add(new MenuItem("G" + i, name, description.toString(), 3.0 + random.nextInt(40) * 0.25,
+                    categories[i % categories.length]));
+        }
+        return menu;
+    }
+}
@@ -0,0 +1,218 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Small JMH-style harness: warm-up and measurement iterations of fixed length, each on freshly
+// set up state, reporting average time per operation. Results print as a table and as JSON Lines
+// (one self-contained record per benchmark/parameter combination) so runs can be diffed.
+public class MicroBenchmark {
+    // 99.9% two-sided normal quantile; with few iterations this understates the error a little
+    private static final double ERROR_QUANTILE = 3.29;
+
+    public interface Operation {
+        Object invoke(); // Returned values are consumed so the JIT can't drop the work
+    }
+
+    public interface Fixture {
+        Operation setUp() throws Exception; // Called before every iteration
+    }
+
+    private static volatile Object sink;
+
+    private String name;
+    private Map<String, String> params;
+    private Fixture fixture;
+    private int batchSize; // 0: run for the iteration time; otherwise exactly this many calls per iteration
+
+    public MicroBenchmark(String name, Fixture fixture) {
+        this.name = name;
+        this.params = new LinkedHashMap<>();
+        this.fixture = fixture;
+    }
+
+    public MicroBenchmark param(String key, Object value) {
+        params.put(key, String.valueOf(value));
+        return this;
+    }
+
+    // For operations that grow the state they run against (e.g. registering), so every
+    // iteration measures the same number of calls from the same starting size
+    public MicroBenchmark batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Result run(int warmupIterations, int measurementIterations, long iterationMillis) throws Exception {
+        long iterationNanos = iterationMillis * 1_000_000L;
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(fixture.setUp(), iterationNanos);
+        }
+        double[] scores = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            scores[i] = runIteration(fixture.setUp(), iterationNanos);
+        }
+        return new Result(name, params, scores);
+    }
+
+    // Average nanoseconds per call for one iteration
+    private double runIteration(Operation operation, long iterationNanos) {
+        if (batchSize > 0) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batchSize; i++) {
+                sink = operation.invoke();
+            }
+            return (System.nanoTime() - start) / (double) batchSize;
+        }
+
+        // Calls run in chunks between clock reads; chunks grow until each takes ~0.1ms
+        // so reading the clock doesn't dominate nanosecond-scale operations
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long calls = 0;
+        int chunk = 1;
+        long now;
+        do {
+            long chunkStart = System.nanoTime();
+            for (int i = 0; i < chunk; i++) {
+                sink = operation.invoke();
+            }
+            calls += chunk;
+            now = System.nanoTime();
+            if (now - chunkStart < 100_000 && chunk < (1 << 20)) {
+                chunk <<= 1;
+            }
+        } while (now < deadline);
+        return (now - start) / (double) calls;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public Map<String, String> getParams() { return params; }
+
+    public static class Result {
+        private String benchmark;
+        private Map<String, String> params;
+        private double[] scores;
+
+        Result(String benchmark, Map<String, String> params, double[] scores) {
+            this.benchmark = benchmark;
+            this.params = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+            this.scores = scores;
+        }
+
+        public double getScore() {
+            double sum = 0;
+            for (double score : scores) {
+                sum += score;
+            }
+            return sum / scores.length;
+        }
+
+        public double getError() {
+            if (scores.length < 2) {
+                return Double.NaN;
+            }
+            double mean = getScore();
+            double squares = 0;
+            for (double score : scores) {
+                squares += (score - mean) * (score - mean);
+            }
+            double stddev = Math.sqrt(squares / (scores.length - 1));
+            return ERROR_QUANTILE * stddev / Math.sqrt(scores.length);
+        }
+
+        // Identifies the same measurement across runs, e.g. "MenuManager.getMenuItemById{menuItems=1000}"
+        public String getKey() {
+            return benchmark + params;
+        }
+
+        public String toJson() {
+            StringBuilder json = new StringBuilder("{\"benchmark\":\"").append(benchmark).append("\",\"params\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                json.append(first ? "" : ",").append('"').append(param.getKey()).append("\":\"")
+                        .append(param.getValue()).append('"');
+                first = false;
+            }
+            json.append("},\"mode\":\"avgt\",\"unit\":\"ns/op\"")
+                    .append(",\"score\":").append(number(getScore()))
+                    .append(",\"error\":").append(number(getError()))
+                    .append(",\"iterations\":[");
+            for (int i = 0; i < scores.length; i++) {
+                json.append(i > 0 ? "," : "").append(number(scores[i]));
+            }
+            return json.append("]}").toString();
+        }
+
+        private static String number(double value) {
+            return Double.isNaN(value) ? "null" : String.format("%.3f", value);
+        }
+
+        // Getters
+        public String getBenchmark() { return benchmark; }
+        public Map<String, String> getParams() { return params; }
+    }
+
+    // Reads back the key and score of each record written by Result.toJson
+    public static Map<String, Double> readScores(List<String> jsonLines) {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (String line : jsonLines) {
+            String benchmark = field(line, "\"benchmark\":\"", "\"");
+            String params = field(line, "\"params\":{", "}");
+            String score = field(line, "\"score\":", ",");
+            if (benchmark == null || params == null || score == null || score.equals("null")) {
+                continue;
+            }
+            Map<String, String> parsed = new LinkedHashMap<>();
+            for (String pair : params.isEmpty() ? new String[0] : params.split(",")) {
+                String[] keyValue = pair.replace("\"", "").split(":", 2);
+                parsed.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+            }
+            scores.put(benchmark + parsed, Double.parseDouble(score));
+        }
+        return scores;
+    }
+
+    private static String field(String line, String prefix, String terminator) {
+        int start = line.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = line.indexOf(terminator, start);
+        return end < 0 ? null : line.substring(start, end);
+    }
+
+    public static List<Integer> parseSizes(String value) {
+        List<Integer> sizes = new ArrayList<>();
+        for (String size : value.split(",")) {
+            sizes.add(Integer.parseInt(size.trim().replace("_", "")));
+        }
+        return sizes;
+    }
+
+    // Harnesses that register or log in thousands of students would spend their run in PBKDF2 at
+    // the production iteration count; they use a cheap one unless cafeteria.passwordIterations is set
+    public static void useFastPasswordHashing() {
+        if (System.getProperty("cafeteria.passwordIterations") == null) {
+            System.setProperty("cafeteria.passwordIterations", "1000");
+        }
+    }
+
+    // The harnesses take key=value arguments; anything without a '=' is ignored
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                options.put(arg.substring(0, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import enums.OrderStatus;
+import metrics.LatencyHistogram;
+import models.Order;
+import models.Student;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderJournal;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.StudentManager;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Usage: java benchmarks.OrderJournalBenchmark [threads] [ordersPerThread]
+public class OrderJournalBenchmark {
+    private static final OrderStatus[] LIFECYCLE = {
+            OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.COMPLETED
+    };
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int ordersPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        Path journalFile = Files.createTempFile("orders", ".journal");
+        MenuManager menuManager = new MenuManager();
+        StudentManager studentManager = new StudentManager();
+        Student student = studentManager.getStudent("S1001");
+        PrintStream console = System.out;
+
+        // Append: each order is one creation record plus its status transitions
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        OrderJournal journal = new OrderJournal(journalFile);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int threadId = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < ordersPerThread; i++) {
+                    Order order = new Order("ORD-" + threadId + "-" + i, student);
+                    order.addItem(menuManager.getMenuItemById("M1"));
+                    order.addItem(menuManager.getMenuItemById("D1"));
+                    journal.recordCreated(order);
+                    for (OrderStatus status : LIFECYCLE) {
+                        journal.recordStatusChange(order, status);
+                    }
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double appendSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        journal.close();
+
+        // Replay into a fresh processor, as on startup
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager,
+                new PaymentProcessor(), new LoyaltyProgram());
+        OrderJournal replayJournal = new OrderJournal(journalFile);
+        start = System.nanoTime();
+        int replayed = replayJournal.replay(orderProcessor);
+        double replaySeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        replayJournal.close();
+        orderProcessor.shutdown();
+        System.setOut(console);
+
+        long records = journal.getRecordsWritten();
+        LatencyHistogram latency = journal.getAppendLatency();
+        System.out.println("=== Order Journal Benchmark ===");
+        System.out.println("Threads: " + threadCount + ", orders: " + replayed + ", records: " + records);
+        System.out.println(String.format("Append throughput: %.0f records/s", records / appendSeconds));
+        System.out.println(String.format("Group commit: %d fsyncs, %.1f records per fsync",
+                journal.getSyncCount(), records / (double) Math.max(1, journal.getSyncCount())));
+        System.out.println("Append latency: " + latency.getSummary());
+        System.out.println(String.format("Replay: %.3fs for %d records (%.2fs per million records)",
+                replaySeconds, records, replaySeconds / records * 1_000_000));
+
+        Files.deleteIfExists(journalFile);
+    }
+}
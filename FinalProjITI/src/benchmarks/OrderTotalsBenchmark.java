@@ -0,0 +1,98 @@
+package benchmarks;
+
+import enums.OrderStatus;
+import models.MenuItem;
+import models.Order;
+import models.Student;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.ReportGenerator;
+import services.StudentManager;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Date;
+import java.util.List;
+
+// Usage: java benchmarks.OrderTotalsBenchmark [itemsPerLargeOrder] [reportOrders]
+public class OrderTotalsBenchmark {
+    private static final double TAX_RATE = 0.08;
+    private static double sink; // Keeps results alive so the JIT can't drop the work
+
+    public static void main(String[] args) {
+        int itemsPerOrder = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int reportOrders = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        MenuManager menuManager = new MenuManager();
+        StudentManager studentManager = new StudentManager();
+        Student student = studentManager.getStudent("S1001");
+        List<MenuItem> menu = menuManager.getMenuItems();
+
+        Order largeOrder = new Order("LARGE", student);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            largeOrder.addItem(menu.get(i % menu.size()));
+        }
+
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager,
+                new PaymentProcessor(), new LoyaltyProgram());
+        for (int i = 0; i < reportOrders; i++) {
+            Order order = new Order("ORD" + i, student);
+            for (int j = 0; j < 3; j++) {
+                order.addItem(menu.get((i + j) % menu.size()));
+            }
+            orderProcessor.restoreOrder(order);
+            order.changeStatus(OrderStatus.COMPLETED);
+        }
+        List<Order> completed = orderProcessor.getCompletedOrders();
+        ReportGenerator reportGenerator = new ReportGenerator(orderProcessor);
+        Date today = new Date();
+
+        double legacyTotal = measure(20_000, () -> sink += legacyTotal(largeOrder));
+        double runningTotal = measure(20_000, () -> sink += largeOrder.calculateTotal());
+        double legacyScan = measure(20, () -> {
+            for (Order order : completed) {
+                sink += legacyTotal(order);
+            }
+        });
+        double runningScan = measure(20, () -> {
+            for (Order order : completed) {
+                sink += order.calculateTotal();
+            }
+        });
+        double report = measure(20, () -> sink += reportGenerator.generateDailySalesReport(today).length());
+        orderProcessor.shutdown();
+        System.setOut(console);
+
+        System.out.println("=== Order Totals Benchmark ===");
+        System.out.println(String.format("calculateTotal, %d-item order:  recompute %.2fus  running %.4fus",
+                itemsPerOrder, legacyTotal / 1000.0, runningTotal / 1000.0));
+        System.out.println(String.format("Total scan over %d orders:  recompute %.2fms  running %.2fms",
+                reportOrders, legacyScan / 1_000_000.0, runningScan / 1_000_000.0));
+        System.out.println(String.format("generateDailySalesReport over %d orders: %.2fms",
+                reportOrders, report / 1_000_000.0));
+    }
+
+    // What calculateTotal used to do: copy the list and sum it twice (subtotal + tax)
+    private static double legacyTotal(Order order) {
+        double subtotal = order.getOrderItems().getItems().stream().mapToDouble(MenuItem::getPrice).sum();
+        double taxBase = order.getOrderItems().getItems().stream().mapToDouble(MenuItem::getPrice).sum();
+        return subtotal + taxBase * TAX_RATE;
+    }
+
+    // Average nanoseconds per run after an equal number of warm-up runs
+    private static double measure(int iterations, Runnable work) {
+        for (int i = 0; i < iterations; i++) {
+            work.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            work.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
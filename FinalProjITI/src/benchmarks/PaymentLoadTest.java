@@ -0,0 +1,56 @@
+package benchmarks;
+
+import enums.PaymentMethod;
+import models.Order;
+import models.Payment;
+import models.Student;
+import services.MenuManager;
+import services.PaymentProcessor;
+import services.StudentManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Usage: java benchmarks.PaymentLoadTest [checkouts]
+public class PaymentLoadTest {
+    public static void main(String[] args) {
+        int checkouts = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        MenuManager menuManager = new MenuManager();
+        Student student = new StudentManager().getStudent("S1001");
+        PaymentProcessor paymentProcessor = new PaymentProcessor();
+
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < checkouts; i++) {
+            Order order = new Order("LOAD" + i, student);
+            order.addItem(menuManager.getMenuItemById("M1"));
+            payments.add(new Payment("PAY" + i, order, PaymentMethod.CREDIT_CARD));
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Boolean>> inFlight = new ArrayList<>();
+        for (Payment payment : payments) {
+            inFlight.add(paymentProcessor.processPaymentAsync(payment, 30, TimeUnit.SECONDS));
+        }
+        int maxInFlight = (int) inFlight.stream().filter(future -> !future.isDone()).count();
+
+        int succeeded = 0;
+        for (CompletableFuture<Boolean> future : inFlight) {
+            if (future.exceptionally(error -> false).join()) {
+                succeeded++;
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        paymentProcessor.shutdown();
+
+        System.out.println("\n=== Payment Load Test ===");
+        System.out.println("Checkouts: " + checkouts);
+        System.out.println("In flight after submission: " + maxInFlight);
+        System.out.println("Succeeded: " + succeeded);
+        System.out.println(String.format("Elapsed: %.2fs", elapsedSeconds));
+        System.out.println(String.format("Throughput: %.1f checkouts/s (blocking baseline: ~1 checkout/s)",
+                checkouts / elapsedSeconds));
+    }
+}
@@ -0,0 +1,131 @@
+package benchmarks;
+
+import enums.OrderStatus;
+import models.Order;
+import models.Student;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderJournal;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.SnapshotManager;
+import services.StudentManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Usage: java benchmarks.SnapshotBenchmark [students] [openOrders] [journalTailOrders]
+public class SnapshotBenchmark {
+    // Registering students one by one checks every username, so the benchmark hands
+    // a pre-built population straight to the snapshot writer instead
+    private static class GeneratedStudents extends StudentManager {
+        private List<Student> generated;
+
+        GeneratedStudents(List<Student> generated) {
+            this.generated = generated;
+        }
+
+        @Override
+        public ArrayList<Student> getAllStudents() {
+            return new ArrayList<>(generated);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        MicroBenchmark.useFastPasswordHashing();
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int orderCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int tailOrders = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        Path directory = Files.createTempDirectory("snapshots");
+        Path journalFile = directory.resolve("orders.journal");
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        // Build the running state and snapshot it
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("U" + i, "user" + i, "password" + i, "Student " + i,
+                    "student" + i + "@university.edu", "S" + i);
+            student.addPoints(i % 500);
+            students.add(student);
+        }
+        GeneratedStudents studentManager = new GeneratedStudents(students);
+        MenuManager menuManager = new MenuManager();
+        OrderProcessor orderProcessor = new OrderProcessor(menuManager, studentManager,
+                new PaymentProcessor(), new LoyaltyProgram());
+        orderProcessor.setOrderJournal(new OrderJournal(journalFile));
+        String[] itemIds = {"M1", "M2", "S1", "D1", "DS1"};
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order("ORD" + i, students.get(i % studentCount));
+            order.addItem(menuManager.getMenuItemById(itemIds[i % itemIds.length]));
+            order.addItem(menuManager.getMenuItemById("D2"));
+            orderProcessor.restoreOrder(order);
+        }
+
+        SnapshotManager snapshotManager = new SnapshotManager(directory);
+        long start = System.nanoTime();
+        snapshotManager.writeSnapshot(studentManager, menuManager, orderProcessor);
+        double writeSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long snapshotBytes = directorySize(directory) - Files.size(journalFile);
+
+        // Activity after the snapshot only exists in the journal tail
+        OrderJournal journal = orderProcessor.getOrderJournal();
+        for (int i = 0; i < tailOrders; i++) {
+            Order order = new Order("TAIL" + i, students.get(i % studentCount));
+            order.addItem(menuManager.getMenuItemById("D1"));
+            journal.appendAsync(tailRecord(order));
+            orderProcessor.updateOrderStatus("ORD" + i, OrderStatus.READY);
+        }
+        orderProcessor.shutdown();
+        students = null;
+        studentManager = null;
+        orderProcessor = null;
+
+        // Cold start: snapshot + journal tail, then serve a login and a staff query
+        start = System.nanoTime();
+        StudentManager restartedStudents = new StudentManager();
+        MenuManager restartedMenu = new MenuManager();
+        OrderProcessor restarted = new OrderProcessor(restartedMenu, restartedStudents,
+                new PaymentProcessor(), new LoyaltyProgram());
+        SnapshotManager restartedSnapshots = new SnapshotManager(directory);
+        long journalOffset = restartedSnapshots.loadSnapshot(restartedStudents, restartedMenu, restarted);
+        double snapshotSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        restarted.enableJournal(journalFile, journalOffset);
+        Student loggedIn = restartedStudents.login("user" + (studentCount - 1), "password" + (studentCount - 1));
+        int pending = restarted.getPendingOrders().size();
+        double readySeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int ready = restarted.getOrderRepository().getOrderCount(OrderStatus.READY);
+        restarted.shutdown();
+        System.setOut(console);
+
+        System.out.println("=== Snapshot Benchmark ===");
+        System.out.println("Students: " + studentCount + ", open orders: " + orderCount + ", journal tail orders: " + tailOrders);
+        System.out.println(String.format("Snapshot write: %.2fs, %.1f MB", writeSeconds, snapshotBytes / 1_048_576.0));
+        System.out.println(String.format("Snapshot load: %.2fs", snapshotSeconds));
+        System.out.println(String.format("Serving after: %.2fs (login %s, %d pending, %d ready from tail)",
+                readySeconds, loggedIn != null ? "ok" : "FAILED", pending, ready));
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static String tailRecord(Order order) {
+        return "C|" + order.getOrderId() + "|" + order.getStudent().getStudentId() + "|" +
+                order.getOrderDate().getTime() + "|D1";
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+}
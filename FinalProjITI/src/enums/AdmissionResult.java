@@ -0,0 +1,9 @@
+package enums;
+
+public enum AdmissionResult {
+    ACCEPTED,
+    REJECTED_STUDENT_RATE, // This student is ordering faster than the per-student limit
+    REJECTED_GLOBAL_RATE,  // The whole cafeteria is over the intake limit
+    REJECTED_QUEUE_FULL,   // Admitted by the rate limits but the intake queue had no room
+    FAILED                 // Reached OrderProcessor but was not processed (e.g. empty order)
+}
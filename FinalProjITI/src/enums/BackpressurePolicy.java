@@ -0,0 +1,7 @@
+package enums;
+
+public enum BackpressurePolicy {
+    BLOCK,
+    CALLER_RUNS,
+    DROP
+}
@@ -0,0 +1,6 @@
+package enums;
+
+public enum KitchenPolicy {
+    BATCHED_EDF, // Cook identical items across orders together, earliest pickup deadline first
+    FIFO         // One order line at a time, in arrival order
+}
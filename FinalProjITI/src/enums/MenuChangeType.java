@@ -0,0 +1,7 @@
+package enums;
+
+public enum MenuChangeType {
+    ADD,
+    UPDATE,
+    REMOVE
+}
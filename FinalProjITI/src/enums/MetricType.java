@@ -0,0 +1,7 @@
+package enums;
+
+public enum MetricType {
+    COUNTER,
+    GAUGE,
+    SUMMARY
+}
@@ -0,0 +1,8 @@
+package enums;
+
+public enum OrderEventType {
+    CREATED,
+    CONFIRMED,
+    STATUS_CHANGED,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package interfaces;
+
+// JMX view of the loyalty program, registered as cafeteria:type=LoyaltyProgram
+public interface ILoyaltyProgramMXBean {
+    double getPointsPerCurrency();
+    void setPointsPerCurrency(double pointsPerCurrency);
+    int getRewardCatalogSize();
+}
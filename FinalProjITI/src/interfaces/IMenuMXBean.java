@@ -0,0 +1,28 @@
+package interfaces;
+
+import java.util.List;
+import java.util.Map;
+
+// JMX view of the menu, registered as cafeteria:type=Menu
+public interface IMenuMXBean {
+    int getMenuSize();
+    long getVersion();
+    Map<String, Integer> getItemCountsByCategory();
+    List<String> getSoldOutItems();
+    int getOpenReservations();
+
+    // Stock levels; an item never given one is unlimited (reported as -1)
+    int getAvailableStock(String itemId);
+    void setStock(String itemId, int onHand);
+    void restock(String itemId, int quantity);
+    void stopTrackingStock(String itemId);
+
+    // Serving hours as "MON-FRI 07:00-10:30; SAT,SUN 09:00-12:00"; empty means always served
+    // (for an item: whenever its category is)
+    List<String> getServedNowItems();
+    int getScheduledMenuCount();
+    String getCategoryHours(String category);
+    void setCategoryHours(String category, String hours);
+    String getItemHours(String itemId);
+    void setItemHours(String itemId, String hours);
+}
@@ -2,13 +2,17 @@ package interfaces;
 
 import models.MenuItem;
 import enums.MenuCategory;
+import services.Inventory;
 import java.util.List;
 
 public interface IMenuProvider {
     List<MenuItem> getMenuItems();
+    List<MenuItem> getAvailableMenuItems(); // Without sold-out items
     boolean addMenuItem(MenuItem item);
     boolean updateMenuItem(String itemId, MenuItem newItem);
     boolean removeMenuItem(String itemId);
     MenuItem getMenuItemById(String itemId);
+    boolean isServedNow(String itemId); // On the menu and inside its serving times
+    Inventory getInventory(); // Null when stock isn't tracked
     // Add any other methods you need
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package interfaces;
+
+import models.OrderEvent;
+
+public interface IOrderEventListener {
+    void onOrderEvent(OrderEvent event);
+}
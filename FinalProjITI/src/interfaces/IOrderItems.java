@@ -1,11 +1,15 @@
 package interfaces;
 
 import models.MenuItem;
+import models.OrderLine;
+import java.util.Collection;
 import java.util.List;
 
 public interface IOrderItems {
     void addItem(MenuItem item);
+    void addItem(MenuItem item, int quantity);
     boolean removeItem(String itemId);
     List<MenuItem> getItems();
+    Collection<OrderLine> getLines();
     boolean containsItem(String itemId);
-}
\ No newline at end of file
+}
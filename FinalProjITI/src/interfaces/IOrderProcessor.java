@@ -6,4 +6,5 @@ import models.Order;
 public interface IOrderProcessor {
     boolean processOrder(Order order);
     boolean updateOrderStatus(String orderId, OrderStatus status);
+    boolean updateOrderStatusIf(String orderId, OrderStatus expected, OrderStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package interfaces;
+
+import java.util.Map;
+
+// JMX view of the order processor, registered as cafeteria:type=OrderProcessor
+public interface IOrderProcessorMXBean {
+    int getTotalOrders();
+    Map<String, Integer> getOrderCountsByStatus();
+    long getAcceptedOrders();
+    double getIntakeRatePerSecond();
+    Map<String, Integer> getPipelineQueueDepths();
+}
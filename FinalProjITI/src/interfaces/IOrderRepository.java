@@ -0,0 +1,15 @@
+package interfaces;
+
+import enums.OrderStatus;
+import models.Order;
+
+import java.util.List;
+
+public interface IOrderRepository {
+    boolean addOrder(Order order);
+    Order getOrder(String orderId);
+    List<Order> getOrdersByStatus(OrderStatus... statuses);
+    List<Order> getAllOrders();
+    int getOrderCount();
+    int getOrderCount(OrderStatus status);
+}
@@ -0,0 +1,8 @@
+package interfaces;
+
+import enums.OrderStatus;
+import models.Order;
+
+public interface IOrderStatusListener {
+    void onStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus);
+}
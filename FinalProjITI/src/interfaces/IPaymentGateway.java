@@ -0,0 +1,11 @@
+package interfaces;
+
+import models.Payment;
+
+import java.util.List;
+
+public interface IPaymentGateway {
+    boolean charge(Payment payment) throws InterruptedException;
+    List<Boolean> chargeBatch(List<Payment> payments) throws InterruptedException;
+    int getMaxBatchSize();
+}
@@ -1,8 +1,17 @@
 package interfaces;
 
+import models.BatchPaymentResult;
 import models.Payment;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 public interface IPaymentProcessor {
     boolean processPayment(Payment payment);
+    boolean processPayment(Payment payment, String idempotencyKey);
+    CompletableFuture<Boolean> processPaymentAsync(Payment payment);
+    CompletableFuture<Boolean> processPaymentAsync(Payment payment, long timeout, TimeUnit unit);
+    BatchPaymentResult processPayments(List<Payment> payments);
     boolean refundPayment(String paymentId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package interfaces;
+
+// JMX view of the Q-learning recommender, registered as cafeteria:type=Recommender
+public interface IRecommenderMXBean {
+    int getStudentCount();
+    long getQValueCount();
+    double getLearningRate();
+    void setLearningRate(double learningRate);
+    double getExplorationRate();
+    void setExplorationRate(double explorationRate);
+    double getDiscountFactor();
+    void saveQTable();
+}
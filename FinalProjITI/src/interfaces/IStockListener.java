@@ -0,0 +1,6 @@
+package interfaces;
+
+// Told when an item runs out of stock or becomes available again
+public interface IStockListener {
+    void onAvailabilityChanged(String itemId, boolean inStock);
+}
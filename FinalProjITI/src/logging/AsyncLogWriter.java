@@ -0,0 +1,259 @@
+package logging;
+
+import enums.LogLevel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Background writer for log events. Callers only publish into a lock-free ring buffer;
+// a single daemon thread formats the events and writes them either to the console or to
+// a size-capped rolling file (cafeteria.log, cafeteria.log.1, ...). When the buffer is full
+// events are dropped and counted rather than stalling the caller.
+public class AsyncLogWriter {
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private LogRingBuffer<LogEvent> buffer;
+    private Path logFile; // null writes to System.out
+    private long maxFileBytes;
+    private int maxFiles;
+    private BufferedWriter fileWriter;
+    private long fileBytes;
+    private long lastTimestampMillis = -1;
+    private String lastTimestamp;
+
+    private Thread writer;
+    private Thread shutdownHook;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    // Metrics
+    private LongAdder written;
+    private LongAdder dropped;
+    private long droppedReported;
+
+    static class LogEvent {
+        private long timestamp;
+        private LogLevel level;
+        private String loggerName;
+        private String threadName;
+        private String message;
+        private Throwable error;
+
+        LogEvent(LogLevel level, String loggerName, String message, Throwable error) {
+            this.timestamp = System.currentTimeMillis();
+            this.level = level;
+            this.loggerName = loggerName;
+            this.threadName = Thread.currentThread().getName();
+            this.message = message;
+            this.error = error;
+        }
+    }
+
+    // Plain messages on the console, as the application printed them before
+    public static AsyncLogWriter console() {
+        AsyncLogWriter logWriter = new AsyncLogWriter(null, 0, 0, 8192);
+        logWriter.start();
+        return logWriter;
+    }
+
+    public static AsyncLogWriter rollingFile(Path logFile, long maxFileBytes, int maxFiles) throws IOException {
+        return rollingFile(logFile, maxFileBytes, maxFiles, 8192);
+    }
+
+    public static AsyncLogWriter rollingFile(Path logFile, long maxFileBytes, int maxFiles,
+                                             int bufferCapacity) throws IOException {
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+        AsyncLogWriter logWriter = new AsyncLogWriter(logFile, maxFileBytes, maxFiles, bufferCapacity);
+        logWriter.openFile();
+        logWriter.start();
+        return logWriter;
+    }
+
+    private AsyncLogWriter(Path logFile, long maxFileBytes, int maxFiles, int bufferCapacity) {
+        this.buffer = new LogRingBuffer<>(bufferCapacity);
+        this.logFile = logFile;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.written = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    private void start() {
+        this.running = true;
+        this.writer = new Thread(this::runWriter, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.shutdownHook = new Thread(this::close, "log-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void publish(LogEvent event) {
+        if (!running || !buffer.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void runWriter() {
+        while (running || !buffer.isEmpty()) {
+            LogEvent event = buffer.poll();
+            if (event == null) {
+                flush();
+                idle = true;
+                if (buffer.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            write(event);
+        }
+        flush();
+    }
+
+    private void write(LogEvent event) {
+        long droppedNow = dropped.sum();
+        if (droppedNow > droppedReported) {
+            writeLine(format(new LogEvent(LogLevel.WARN, "AsyncLogWriter",
+                    (droppedNow - droppedReported) + " log events dropped, buffer full", null)));
+            droppedReported = droppedNow;
+        }
+        writeLine(format(event));
+        written.increment();
+    }
+
+    private String format(LogEvent event) {
+        StringBuilder line = new StringBuilder(96);
+        if (logFile == null) {
+            if (event.level.compareTo(LogLevel.WARN) >= 0) {
+                line.append(event.level).append(": ");
+            }
+            line.append(event.message);
+        } else {
+            line.append(timestamp(event.timestamp)).append(' ')
+                    .append(event.level).append(event.level.name().length() == 4 ? "  [" : " [")
+                    .append(event.threadName).append("] ")
+                    .append(event.loggerName).append(" - ")
+                    .append(event.message);
+        }
+        if (event.error != null) {
+            line.append(System.lineSeparator()).append(event.error);
+            for (StackTraceElement frame : event.error.getStackTrace()) {
+                line.append(System.lineSeparator()).append("    at ").append(frame);
+            }
+        }
+        return line.toString();
+    }
+
+    // Consecutive events usually share a millisecond, so reuse the last formatted value
+    private String timestamp(long millis) {
+        if (millis != lastTimestampMillis) {
+            lastTimestampMillis = millis;
+            lastTimestamp = TIMESTAMP.format(Instant.ofEpochMilli(millis));
+        }
+        return lastTimestamp;
+    }
+
+    private void writeLine(String line) {
+        if (logFile == null) {
+            System.out.println(line);
+            return;
+        }
+        try {
+            int length = line.length() + 1; // Characters, close enough to bytes for deciding when to roll
+            if (maxFileBytes > 0 && fileBytes + length > maxFileBytes && fileBytes > 0) {
+                roll();
+            }
+            fileWriter.write(line);
+            fileWriter.newLine();
+            fileBytes += length;
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+
+    // cafeteria.log -> cafeteria.log.1 -> ... -> cafeteria.log.<maxFiles - 1>, oldest deleted
+    private void roll() throws IOException {
+        fileWriter.close();
+        String name = logFile.getFileName().toString();
+        Files.deleteIfExists(logFile.resolveSibling(name + "." + (maxFiles - 1)));
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            Path source = logFile.resolveSibling(name + "." + i);
+            if (Files.exists(source)) {
+                Files.move(source, logFile.resolveSibling(name + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 1) {
+            Files.move(logFile, logFile.resolveSibling(name + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(logFile);
+        }
+        openFile();
+    }
+
+    private void openFile() throws IOException {
+        fileWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(logFile);
+    }
+
+    private void flush() {
+        try {
+            if (fileWriter != null) {
+                fileWriter.flush();
+            } else {
+                System.out.flush();
+            }
+        } catch (IOException e) {
+            // Nothing sensible to log to
+        }
+    }
+
+    // Drains whatever is already buffered, then stops the writer thread
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            if (fileWriter != null) {
+                fileWriter.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("Failed to close log file: " + e.getMessage());
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already running as the shutdown hook
+        }
+    }
+
+    // Getters
+    public Path getLogFile() { return logFile; }
+    public long getWrittenCount() { return written.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+}
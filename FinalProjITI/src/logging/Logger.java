@@ -0,0 +1,113 @@
+package logging;
+
+import enums.LogLevel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Leveled logging facade. A disabled call costs one volatile read and a compare; the
+// Supplier overloads defer building the message until the level is known to be on.
+// Enabled events are handed to the shared AsyncLogWriter, which defaults to the console.
+public class Logger {
+    private static final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+    private static volatile LogLevel threshold = LogLevel.INFO;
+    private static volatile AsyncLogWriter logWriter;
+
+    private String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return loggers.computeIfAbsent(type.getSimpleName(), Logger::new);
+    }
+
+    // Replaces the current writer, draining and closing the old one
+    public static synchronized void configure(LogLevel level, AsyncLogWriter writer) {
+        AsyncLogWriter previous = logWriter;
+        logWriter = writer;
+        threshold = level;
+        if (previous != null && previous != writer) {
+            previous.close();
+        }
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level;
+    }
+
+    public static LogLevel getLevel() {
+        return threshold;
+    }
+
+    public static AsyncLogWriter getWriter() {
+        return logWriter;
+    }
+
+    public static synchronized void shutdown() {
+        if (logWriter != null) {
+            logWriter.close();
+            logWriter = null;
+        }
+    }
+
+    private static AsyncLogWriter writer() {
+        AsyncLogWriter current = logWriter;
+        if (current == null) {
+            synchronized (Logger.class) {
+                if (logWriter == null) {
+                    logWriter = AsyncLogWriter.console();
+                }
+                current = logWriter;
+            }
+        }
+        return current;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(threshold) >= 0 && level != LogLevel.OFF;
+    }
+
+    public void log(LogLevel level, String message, Throwable error) {
+        if (isEnabled(level)) {
+            writer().publish(new AsyncLogWriter.LogEvent(level, name, message, error));
+        }
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message, null);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(LogLevel.ERROR, message, error);
+    }
+
+    // Getters
+    public String getName() { return name; }
+}
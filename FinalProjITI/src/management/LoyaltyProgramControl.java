@@ -0,0 +1,27 @@
+package management;
+
+import interfaces.ILoyaltyProgramMXBean;
+import services.LoyaltyProgram;
+
+public class LoyaltyProgramControl implements ILoyaltyProgramMXBean {
+    private LoyaltyProgram loyaltyProgram;
+
+    public LoyaltyProgramControl(LoyaltyProgram loyaltyProgram) {
+        this.loyaltyProgram = loyaltyProgram;
+    }
+
+    @Override
+    public double getPointsPerCurrency() {
+        return loyaltyProgram.getPointsPerCurrency();
+    }
+
+    @Override
+    public void setPointsPerCurrency(double pointsPerCurrency) {
+        loyaltyProgram.setPointsPerCurrency(pointsPerCurrency);
+    }
+
+    @Override
+    public int getRewardCatalogSize() {
+        return loyaltyProgram.getRewards().size();
+    }
+}
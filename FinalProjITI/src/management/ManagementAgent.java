@@ -0,0 +1,70 @@
+package management;
+
+import interfaces.ILoyaltyProgramMXBean;
+import interfaces.IMenuMXBean;
+import interfaces.IOrderProcessorMXBean;
+import interfaces.IRecommenderMXBean;
+import logging.Logger;
+import services.MenuManager;
+import services.OrderProcessor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Registers the cafeteria MXBeans with the platform MBean server so a running instance
+// can be inspected and tuned from jconsole/VisualVM under the "cafeteria" domain
+public class ManagementAgent {
+    private static final Logger logger = Logger.getLogger(ManagementAgent.class);
+
+    private static final String DOMAIN = "cafeteria";
+
+    private MBeanServer server;
+    private List<ObjectName> registered;
+
+    private ManagementAgent() {
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        this.registered = new ArrayList<>();
+    }
+
+    public static ManagementAgent register(OrderProcessor orderProcessor, MenuManager menuManager) {
+        ManagementAgent agent = new ManagementAgent();
+        agent.register("OrderProcessor", new OrderProcessorControl(orderProcessor), IOrderProcessorMXBean.class);
+        agent.register("Recommender", new RecommenderControl(orderProcessor.getRecommender()), IRecommenderMXBean.class);
+        agent.register("LoyaltyProgram", new LoyaltyProgramControl(orderProcessor.getLoyaltyProgram()),
+                ILoyaltyProgramMXBean.class);
+        agent.register("Menu", new MenuControl(menuManager), IMenuMXBean.class);
+        return agent;
+    }
+
+    // A later registration replaces an earlier one of the same type
+    private <T> void register(String type, T control, Class<T> mxBeanInterface) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN, "type", type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new StandardMBean(control, mxBeanInterface, true), name);
+            registered.add(name);
+        } catch (JMException e) {
+            logger.warn("Could not register MBean " + type + ": " + e.getMessage());
+        }
+    }
+
+    public void unregister() {
+        for (ObjectName name : registered) {
+            try {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.warn("Could not unregister MBean " + name + ": " + e.getMessage());
+            }
+        }
+        registered.clear();
+    }
+}
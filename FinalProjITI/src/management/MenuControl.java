@@ -0,0 +1,130 @@
+package management;
+
+import enums.MenuCategory;
+import interfaces.IMenuMXBean;
+import models.AvailabilityWindow;
+import models.MenuItem;
+import services.Inventory;
+import services.MenuManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MenuControl implements IMenuMXBean {
+    private MenuManager menuManager;
+
+    public MenuControl(MenuManager menuManager) {
+        this.menuManager = menuManager;
+    }
+
+    @Override
+    public int getMenuSize() {
+        return menuManager.getMenuSize();
+    }
+
+    @Override
+    public long getVersion() {
+        return menuManager.getVersion();
+    }
+
+    @Override
+    public Map<String, Integer> getItemCountsByCategory() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (MenuCategory category : MenuCategory.values()) {
+            counts.put(category.name(), menuManager.getMenuItemsByCategory(category).size());
+        }
+        return counts;
+    }
+
+    @Override
+    public List<String> getSoldOutItems() {
+        return menuManager.getInventory().getSoldOutItemIds();
+    }
+
+    @Override
+    public int getOpenReservations() {
+        return menuManager.getInventory().getOpenReservationCount();
+    }
+
+    @Override
+    public int getAvailableStock(String itemId) {
+        Inventory inventory = menuManager.getInventory();
+        return inventory.isTracked(itemId) ? inventory.getAvailable(itemId) : -1;
+    }
+
+    @Override
+    public void setStock(String itemId, int onHand) {
+        requireItem(itemId);
+        menuManager.getInventory().setStock(itemId, onHand);
+    }
+
+    @Override
+    public void restock(String itemId, int quantity) {
+        requireItem(itemId);
+        menuManager.getInventory().restock(itemId, quantity);
+    }
+
+    @Override
+    public void stopTrackingStock(String itemId) {
+        menuManager.getInventory().stopTracking(itemId);
+    }
+
+    @Override
+    public List<String> getServedNowItems() {
+        List<String> itemIds = new ArrayList<>();
+        for (MenuItem item : menuManager.getCurrentMenu().getItems()) {
+            itemIds.add(item.getItemId());
+        }
+        return itemIds;
+    }
+
+    @Override
+    public int getScheduledMenuCount() {
+        return menuManager.getSchedule().getMenuCount();
+    }
+
+    @Override
+    public String getCategoryHours(String category) {
+        return formatHours(menuManager.getCategoryAvailability(requireCategory(category)));
+    }
+
+    @Override
+    public void setCategoryHours(String category, String hours) {
+        menuManager.setCategoryAvailability(requireCategory(category), AvailabilityWindow.parseAll(hours));
+    }
+
+    @Override
+    public String getItemHours(String itemId) {
+        return formatHours(menuManager.getItemAvailability(itemId));
+    }
+
+    @Override
+    public void setItemHours(String itemId, String hours) {
+        requireItem(itemId);
+        menuManager.setItemAvailability(itemId, AvailabilityWindow.parseAll(hours));
+    }
+
+    private static String formatHours(List<AvailabilityWindow> windows) {
+        List<String> hours = new ArrayList<>();
+        for (AvailabilityWindow window : windows) {
+            hours.add(window.toString());
+        }
+        return String.join("; ", hours);
+    }
+
+    private static MenuCategory requireCategory(String category) {
+        try {
+            return MenuCategory.valueOf(category.toUpperCase());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("No menu category " + category);
+        }
+    }
+
+    private void requireItem(String itemId) {
+        if (!menuManager.containsMenuItem(itemId)) {
+            throw new IllegalArgumentException("No menu item " + itemId);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package management;
+
+import enums.OrderStatus;
+import interfaces.IOrderProcessorMXBean;
+import models.Order;
+import services.OrderProcessor;
+import services.PipelineStage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class OrderProcessorControl implements IOrderProcessorMXBean {
+    private OrderProcessor orderProcessor;
+
+    public OrderProcessorControl(OrderProcessor orderProcessor) {
+        this.orderProcessor = orderProcessor;
+    }
+
+    @Override
+    public int getTotalOrders() {
+        return orderProcessor.getOrderRepository().getOrderCount();
+    }
+
+    @Override
+    public Map<String, Integer> getOrderCountsByStatus() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status.name(), orderProcessor.getOrderRepository().getOrderCount(status));
+        }
+        return counts;
+    }
+
+    @Override
+    public long getAcceptedOrders() {
+        return orderProcessor.getIntakeRate().getCount();
+    }
+
+    @Override
+    public double getIntakeRatePerSecond() {
+        return orderProcessor.getIntakeRate().getOneMinuteRate();
+    }
+
+    @Override
+    public Map<String, Integer> getPipelineQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (PipelineStage<Order> stage : orderProcessor.getOrderPipeline().getStages()) {
+            depths.put(stage.getName(), stage.getQueueDepth());
+        }
+        return depths;
+    }
+}
@@ -0,0 +1,53 @@
+package management;
+
+import interfaces.IRecommenderMXBean;
+import services.QLearningRecommender;
+
+// Rate changes take effect on the next update or recommendation; the recommender validates them
+public class RecommenderControl implements IRecommenderMXBean {
+    private QLearningRecommender recommender;
+
+    public RecommenderControl(QLearningRecommender recommender) {
+        this.recommender = recommender;
+    }
+
+    @Override
+    public int getStudentCount() {
+        return recommender.getStudentCount();
+    }
+
+    @Override
+    public long getQValueCount() {
+        return recommender.getQValueCount();
+    }
+
+    @Override
+    public double getLearningRate() {
+        return recommender.getLearningRate();
+    }
+
+    @Override
+    public void setLearningRate(double learningRate) {
+        recommender.setLearningRate(learningRate);
+    }
+
+    @Override
+    public double getExplorationRate() {
+        return recommender.getExplorationRate();
+    }
+
+    @Override
+    public void setExplorationRate(double explorationRate) {
+        recommender.setExplorationRate(explorationRate);
+    }
+
+    @Override
+    public double getDiscountFactor() {
+        return recommender.getDiscountFactor();
+    }
+
+    @Override
+    public void saveQTable() {
+        recommender.saveQTable();
+    }
+}
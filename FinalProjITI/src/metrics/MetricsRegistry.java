@@ -0,0 +1,121 @@
+package metrics;
+
+import enums.MetricType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+// Process-wide registry of counters, gauges and latency histograms, rendered in the
+// Prometheus text format. Call sites look a series up once (usually into a static final
+// field), so recording is a LongAdder or bucket increment with no map lookups or locks.
+public class MetricsRegistry {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    // One metric name; each distinct label set is its own series
+    private static class Family {
+        private String name;
+        private String help;
+        private MetricType type;
+        private Map<String, Object> series; // Counter, LatencyHistogram or DoubleSupplier by label string
+
+        Family(String name, String help, MetricType type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.series = new ConcurrentSkipListMap<>();
+        }
+    }
+
+    private MetricsRegistry() {
+    }
+
+    // labels are name/value pairs, e.g. counter("cafeteria_logins_total", "...", "result", "success")
+    public static Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, MetricType.COUNTER).series
+                .computeIfAbsent(labelString(labels), key -> new Counter());
+    }
+
+    // Records nanoseconds; exported in seconds, so the name should end in _seconds
+    public static LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, MetricType.SUMMARY).series
+                .computeIfAbsent(labelString(labels), key -> new LatencyHistogram());
+    }
+
+    // Sampled at scrape time; registering the same series again replaces the supplier
+    public static void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, MetricType.GAUGE).series.put(labelString(labels), value);
+    }
+
+    private static Family family(String name, String help, MetricType type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type);
+        }
+        return family;
+    }
+
+    private static String labelString(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            text.append(i > 0 ? "," : "").append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return text.toString();
+    }
+
+    // Prometheus text exposition format, version 0.0.4
+    public static String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ')
+                    .append(family.type.name().toLowerCase()).append('\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                String labels = series.getKey();
+                switch (family.type) {
+                    case COUNTER:
+                        sample(out, family.name, labels, ((Counter) series.getValue()).get());
+                        break;
+                    case GAUGE:
+                        try {
+                            sample(out, family.name, labels, ((DoubleSupplier) series.getValue()).getAsDouble());
+                        } catch (RuntimeException e) {
+                            // A failing gauge is left out rather than failing the whole scrape
+                        }
+                        break;
+                    case SUMMARY:
+                        LatencyHistogram histogram = (LatencyHistogram) series.getValue();
+                        String separator = labels.isEmpty() ? "" : ",";
+                        for (double quantile : QUANTILES) {
+                            sample(out, family.name, labels + separator + "quantile=\"" + quantile + "\"",
+                                    histogram.getPercentileNanos(quantile * 100) / 1e9);
+                        }
+                        sample(out, family.name + "_sum", labels, histogram.getTotalNanos() / 1e9);
+                        sample(out, family.name + "_count", labels, histogram.getCount());
+                        break;
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+}
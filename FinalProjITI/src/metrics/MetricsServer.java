@@ -0,0 +1,70 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Serves MetricsRegistry.scrape() at http://localhost:<port>/metrics for a Prometheus scraper.
+// Bound to the loopback interface only; scrapes run on one daemon thread.
+public class MetricsServer {
+    private static final Logger logger = Logger.getLogger(MetricsServer.class);
+
+    public static final int DEFAULT_PORT = 9404;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private MetricsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    // Port 0 picks a free port, see getPort
+    public static MetricsServer start(int port) throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // See CafeteriaServer.start
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", MetricsServer::handle);
+        server.start();
+        logger.info("Metrics available at http://localhost:" + server.getAddress().getPort() + "/metrics");
+        return new MetricsServer(server, executor);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // Getters
+    public int getPort() { return server.getAddress().getPort(); }
+}
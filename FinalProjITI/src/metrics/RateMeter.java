@@ -0,0 +1,54 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Events per second as a one-minute exponentially weighted moving average.
+// Marks only bump a LongAdder; the average is folded forward in 5-second ticks by
+// whichever caller first notices a tick is due, so there is no background thread.
+public class RateMeter {
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final double ALPHA = 1 - Math.exp(-5.0 / 60.0);
+
+    private LongAdder uncounted;
+    private LongAdder total;
+    private AtomicLong lastTick;
+    private volatile double ratePerSecond;
+    private volatile boolean initialized;
+
+    public RateMeter() {
+        this.uncounted = new LongAdder();
+        this.total = new LongAdder();
+        this.lastTick = new AtomicLong(System.nanoTime());
+    }
+
+    public void mark() {
+        tickIfDue();
+        uncounted.increment();
+        total.increment();
+    }
+
+    public double getOneMinuteRate() {
+        tickIfDue();
+        return ratePerSecond;
+    }
+
+    private void tickIfDue() {
+        long previous = lastTick.get();
+        long now = System.nanoTime();
+        long ticks = (now - previous) / TICK_NANOS;
+        if (ticks <= 0 || !lastTick.compareAndSet(previous, previous + ticks * TICK_NANOS)) {
+            return;
+        }
+        // Only the caller that advanced lastTick gets here
+        double instantRate = uncounted.sumThenReset() / (TICK_NANOS / 1e9);
+        double rate = initialized ? ratePerSecond + ALPHA * (instantRate - ratePerSecond) : instantRate;
+        initialized = true;
+        // Any further elapsed ticks were idle and decay the average towards zero
+        ratePerSecond = rate * Math.pow(1 - ALPHA, ticks - 1);
+    }
+
+    // Getters
+    public long getCount() { return total.sum(); }
+}
@@ -0,0 +1,147 @@
+package models;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// When an item or category is served: some days of the week and a time range on each of them.
+// A range that ends at or before it starts runs past midnight, so "FRI 22:00-02:00" also covers
+// the first two hours of Saturday. Written and parsed as "MON-FRI 07:00-10:30", "SAT,SUN 09:00-14:00"
+// or "DAILY 22:00-02:00".
+public class AvailabilityWindow {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private Set<DayOfWeek> days;
+    private LocalTime start;
+    private LocalTime end;
+
+    public AvailabilityWindow(Set<DayOfWeek> days, LocalTime start, LocalTime end) {
+        if (days == null || days.isEmpty() || start == null || end == null) {
+            throw new IllegalArgumentException("A window needs at least one day, a start and an end");
+        }
+        this.days = Collections.unmodifiableSet(EnumSet.copyOf(days));
+        this.start = start.withSecond(0).withNano(0);
+        this.end = end.withSecond(0).withNano(0);
+    }
+
+    public static AvailabilityWindow daily(LocalTime start, LocalTime end) {
+        return new AvailabilityWindow(EnumSet.allOf(DayOfWeek.class), start, end);
+    }
+
+    public static AvailabilityWindow parse(String text) {
+        String[] parts = text == null ? new String[0] : text.trim().split("\\s+");
+        int dash = parts.length == 2 ? parts[1].indexOf('-') : -1;
+        if (dash < 0) {
+            throw new IllegalArgumentException("Expected \"DAYS HH:MM-HH:MM\": " + text);
+        }
+        try {
+            return new AvailabilityWindow(parseDays(parts[0]), LocalTime.parse(parts[1].substring(0, dash)),
+                    LocalTime.parse(parts[1].substring(dash + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time in " + text);
+        }
+    }
+
+    // Windows separated by ';', e.g. "MON-FRI 07:00-10:30; SAT,SUN 09:00-12:00"; null gives none
+    public static List<AvailabilityWindow> parseAll(String text) {
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        if (text == null) {
+            return windows;
+        }
+        for (String window : text.split(";")) {
+            if (!window.isBlank()) {
+                windows.add(parse(window));
+            }
+        }
+        return windows;
+    }
+
+    private static Set<DayOfWeek> parseDays(String text) {
+        if (text.equalsIgnoreCase("DAILY")) {
+            return EnumSet.allOf(DayOfWeek.class);
+        }
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String range : text.split(",")) {
+            String[] ends = range.split("-");
+            DayOfWeek first = parseDay(ends[0]);
+            DayOfWeek last = ends.length > 1 ? parseDay(ends[1]) : first;
+            for (DayOfWeek day = first; ; day = day.plus(1)) { // "FRI-MON" wraps over the weekend
+                days.add(day);
+                if (day == last) {
+                    break;
+                }
+            }
+        }
+        return days;
+    }
+
+    private static DayOfWeek parseDay(String text) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (text.length() >= 3 && day.name().startsWith(text.toUpperCase())) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day " + text);
+    }
+
+    // Whether the window is open at a minute of the week, counted from Monday 00:00
+    public boolean covers(int minuteOfWeek) {
+        int length = getLengthMinutes();
+        for (DayOfWeek day : days) {
+            int opens = day.ordinal() * MINUTES_PER_DAY + getStartMinute();
+            if (Math.floorMod(minuteOfWeek - opens, MINUTES_PER_WEEK) < length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The minutes of the week at which the window opens or closes
+    public List<Integer> getBoundaries() {
+        List<Integer> boundaries = new ArrayList<>();
+        for (DayOfWeek day : days) {
+            int opens = day.ordinal() * MINUTES_PER_DAY + getStartMinute();
+            boundaries.add(opens);
+            boundaries.add((opens + getLengthMinutes()) % MINUTES_PER_WEEK);
+        }
+        return boundaries;
+    }
+
+    // A full day when start and end are the same
+    public int getLengthMinutes() {
+        int length = Math.floorMod(getEndMinute() - getStartMinute(), MINUTES_PER_DAY);
+        return length == 0 ? MINUTES_PER_DAY : length;
+    }
+
+    private int getStartMinute() {
+        return start.getHour() * 60 + start.getMinute();
+    }
+
+    private int getEndMinute() {
+        return end.getHour() * 60 + end.getMinute();
+    }
+
+    // Getters
+    public Set<DayOfWeek> getDays() { return days; }
+    public LocalTime getStart() { return start; }
+    public LocalTime getEnd() { return end; }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        if (days.size() == 7) {
+            text.append("DAILY");
+        } else {
+            for (DayOfWeek day : days) {
+                text.append(text.length() > 0 ? "," : "").append(day.name(), 0, 3);
+            }
+        }
+        return text.append(' ').append(start).append('-').append(end).toString();
+    }
+}
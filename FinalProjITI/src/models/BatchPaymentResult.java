@@ -0,0 +1,54 @@
+package models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BatchPaymentResult {
+    private Map<String, Boolean> results; // paymentId -> success, in submission order
+    private long elapsedNanos;
+    private int batchCount;
+
+    public BatchPaymentResult(Map<String, Boolean> results, long elapsedNanos, int batchCount) {
+        this.results = new LinkedHashMap<>(results);
+        this.elapsedNanos = elapsedNanos;
+        this.batchCount = batchCount;
+    }
+
+    public boolean isSuccessful(String paymentId) {
+        return Boolean.TRUE.equals(results.get(paymentId));
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (boolean success : results.values()) {
+            if (success) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return results.size() - getSuccessCount();
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : results.size() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    // Getters
+    public Map<String, Boolean> getResults() { return new LinkedHashMap<>(results); }
+    public int getPaymentCount() { return results.size(); }
+    public int getBatchCount() { return batchCount; }
+
+    @Override
+    public String toString() {
+        return String.format("Batch of %d payments in %d gateway calls: %d succeeded, %d failed, %.1fms (%.1f payments/s)",
+                getPaymentCount(), batchCount, getSuccessCount(), getFailureCount(),
+                getElapsedMillis(), getThroughputPerSecond());
+    }
+}
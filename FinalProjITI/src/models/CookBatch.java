@@ -0,0 +1,38 @@
+package models;
+
+import enums.MenuCategory;
+import java.util.List;
+
+// Units of the same menu item cooked together on one station
+public class CookBatch {
+    private MenuCategory station;
+    private MenuItem item;
+    private List<WorkUnit> units;
+    private int quantity;
+    private long startedAt;
+    private long finishesAt;
+
+    public CookBatch(MenuCategory station, MenuItem item, List<WorkUnit> units, long startedAt, long finishesAt) {
+        this.station = station;
+        this.item = item;
+        this.units = units;
+        this.startedAt = startedAt;
+        this.finishesAt = finishesAt;
+        for (WorkUnit unit : units) {
+            this.quantity += unit.getQuantity();
+        }
+    }
+
+    // Getters
+    public MenuCategory getStation() { return station; }
+    public MenuItem getItem() { return item; }
+    public List<WorkUnit> getUnits() { return units; }
+    public int getQuantity() { return quantity; }
+    public long getStartedAt() { return startedAt; }
+    public long getFinishesAt() { return finishesAt; }
+
+    @Override
+    public String toString() {
+        return quantity + " x " + item.getName() + " for " + units.size() + " order(s) at " + station;
+    }
+}
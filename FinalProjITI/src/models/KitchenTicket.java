@@ -0,0 +1,59 @@
+package models;
+
+// Kitchen-side view of an order: when it arrived, when it was promised, and how much is left to cook
+public class KitchenTicket {
+    private Order order;
+    private long arrivedAt;
+    private long deadline;
+    private int remainingUnits;
+    private long startedAt;
+    private long readyAt;
+    private boolean cancelled;
+
+    public KitchenTicket(Order order, long arrivedAt, long deadline, int units) {
+        this.order = order;
+        this.arrivedAt = arrivedAt;
+        this.deadline = deadline;
+        this.remainingUnits = units;
+        this.startedAt = -1;
+        this.readyAt = -1;
+    }
+
+    public void markStarted(long now) {
+        if (startedAt < 0) {
+            startedAt = now;
+        }
+    }
+
+    // Returns true when this was the last outstanding unit
+    public boolean completeUnit(long now) {
+        remainingUnits--;
+        if (remainingUnits == 0) {
+            readyAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isStarted() {
+        return startedAt >= 0;
+    }
+
+    public boolean isLate() {
+        return readyAt > deadline;
+    }
+
+    // Getters
+    public Order getOrder() { return order; }
+    public String getOrderId() { return order.getOrderId(); }
+    public long getArrivedAt() { return arrivedAt; }
+    public long getDeadline() { return deadline; }
+    public int getRemainingUnits() { return remainingUnits; }
+    public long getStartedAt() { return startedAt; }
+    public long getReadyAt() { return readyAt; }
+    public boolean isCancelled() { return cancelled; }
+}
@@ -0,0 +1,38 @@
+package models;
+
+import enums.MenuChangeType;
+
+// One edit in a batch passed to MenuManager.applyMenuChanges
+public class MenuChange {
+    private MenuChangeType type;
+    private String itemId;
+    private MenuItem item; // New item or new details; null for REMOVE
+
+    private MenuChange(MenuChangeType type, String itemId, MenuItem item) {
+        this.type = type;
+        this.itemId = itemId;
+        this.item = item;
+    }
+
+    public static MenuChange add(MenuItem item) {
+        return new MenuChange(MenuChangeType.ADD, item == null ? null : item.getItemId(), item);
+    }
+
+    public static MenuChange update(String itemId, MenuItem newItem) {
+        return new MenuChange(MenuChangeType.UPDATE, itemId, newItem);
+    }
+
+    public static MenuChange remove(String itemId) {
+        return new MenuChange(MenuChangeType.REMOVE, itemId, null);
+    }
+
+    // Getters
+    public MenuChangeType getType() { return type; }
+    public String getItemId() { return itemId; }
+    public MenuItem getItem() { return item; }
+
+    @Override
+    public String toString() {
+        return type + " " + itemId;
+    }
+}
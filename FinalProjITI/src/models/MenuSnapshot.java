@@ -0,0 +1,97 @@
+package models;
+
+import enums.MenuCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// One published state of the menu. Never modified after construction, so readers can hold on
+// to it and iterate freely while writers publish newer snapshots alongside.
+public class MenuSnapshot {
+    private long version;
+    private List<MenuItem> items; // Display order
+    private Map<String, MenuItem> itemsById;
+    private EnumMap<MenuCategory, List<MenuItem>> itemsByCategory; // Read-only lists, shared with the next snapshot
+    private Set<String> soldOut; // Item ids with no stock left
+    private List<MenuItem> availableItems; // Display order, sold-out items left out
+
+    public MenuSnapshot(long version, Collection<MenuItem> items, Map<String, MenuItem> itemsById,
+                        EnumMap<MenuCategory, List<MenuItem>> itemsByCategory, Set<String> soldOut) {
+        this.version = version;
+        this.items = List.copyOf(items);
+        this.itemsById = new HashMap<>(itemsById); // Map.copyOf probes linearly and clusters on ids like "M1", "M2"
+        this.itemsByCategory = new EnumMap<>(itemsByCategory);
+        this.soldOut = Collections.unmodifiableSet(new HashSet<>(soldOut));
+        this.availableItems = this.items;
+        if (!soldOut.isEmpty()) {
+            List<MenuItem> available = new ArrayList<>(this.items.size());
+            for (MenuItem item : this.items) {
+                if (!soldOut.contains(item.getItemId())) {
+                    available.add(item);
+                }
+            }
+            this.availableItems = Collections.unmodifiableList(available);
+        }
+    }
+
+    public MenuItem getItem(String itemId) {
+        return itemId == null ? null : itemsById.get(itemId);
+    }
+
+    public boolean contains(String itemId) {
+        return itemId != null && itemsById.containsKey(itemId);
+    }
+
+    public List<MenuItem> getItems(MenuCategory category) {
+        List<MenuItem> categoryItems = itemsByCategory.get(category);
+        return categoryItems != null ? categoryItems : List.of();
+    }
+
+    public boolean isSoldOut(String itemId) {
+        return soldOut.contains(itemId);
+    }
+
+    // The same version narrowed to the items that pass, in the same order
+    public MenuSnapshot filter(Predicate<MenuItem> keep) {
+        List<MenuItem> kept = new ArrayList<>();
+        Map<String, MenuItem> keptById = new HashMap<>();
+        for (MenuItem item : items) {
+            if (keep.test(item)) {
+                kept.add(item);
+                keptById.put(item.getItemId(), item);
+            }
+        }
+        EnumMap<MenuCategory, List<MenuItem>> keptByCategory = new EnumMap<>(MenuCategory.class);
+        for (Map.Entry<MenuCategory, List<MenuItem>> category : itemsByCategory.entrySet()) {
+            List<MenuItem> categoryItems = new ArrayList<>();
+            for (MenuItem item : category.getValue()) {
+                if (keptById.containsKey(item.getItemId())) {
+                    categoryItems.add(item);
+                }
+            }
+            if (categoryItems.size() == category.getValue().size()) {
+                keptByCategory.put(category.getKey(), category.getValue());
+            } else if (!categoryItems.isEmpty()) {
+                keptByCategory.put(category.getKey(), Collections.unmodifiableList(categoryItems));
+            }
+        }
+        Set<String> keptSoldOut = new HashSet<>(soldOut);
+        keptSoldOut.retainAll(keptById.keySet());
+        return new MenuSnapshot(version, kept, keptById, keptByCategory, keptSoldOut);
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public List<MenuItem> getItems() { return items; }
+    public List<MenuItem> getAvailableItems() { return availableItems; }
+    public Set<String> getSoldOut() { return soldOut; }
+    public int size() { return items.size(); }
+}
@@ -1,30 +1,67 @@
 package models;
 
 import enums.OrderStatus;
+import interfaces.IOrderStatusListener;
+import logging.Logger;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Order {
+    private static final Logger logger = Logger.getLogger(Order.class);
+
     private String orderId;
     private Student student;
-    private OrderStatus status;
+    private volatile OrderStatus status;
     private Date orderDate;
     private OrderItems orderItems;
     private OrderCalculator orderCalculator;
     private OrderConfirmation orderConfirmation;
+    private List<IOrderStatusListener> statusListeners;
 
     public Order(String orderId, Student student) {
+        this(orderId, student, new Date());
+    }
+
+    // Used when restoring persisted orders
+    public Order(String orderId, Student student, Date orderDate) {
         this.orderId = orderId;
         this.student = student;
         this.status = OrderStatus.PENDING;
-        this.orderDate = new Date();
+        this.orderDate = orderDate;
         this.orderItems = new OrderItems(this);
         this.orderCalculator = new OrderCalculator(this, orderItems);
         this.orderConfirmation = new OrderConfirmation(this);
+        this.statusListeners = new CopyOnWriteArrayList<>();
     }
 
-    public void changeStatus(OrderStatus newStatus) {
+    // Synchronized so listeners (e.g. the order store indexes) see transitions one at a time
+    public synchronized void changeStatus(OrderStatus newStatus) {
+        OrderStatus oldStatus = this.status;
         this.status = newStatus;
-        System.out.println("Order " + orderId + " status changed to: " + newStatus);
+        logger.info("Order " + orderId + " status changed to: " + newStatus);
+
+        for (IOrderStatusListener listener : statusListeners) {
+            listener.onStatusChanged(this, oldStatus, newStatus);
+        }
+    }
+
+    // Compare-and-set: moves to next only if the order is still in expected, so an automatic
+    // transition can't overwrite one staff made since the caller last looked
+    public synchronized boolean changeStatusIf(OrderStatus expected, OrderStatus next) {
+        if (status != expected) {
+            return false;
+        }
+        changeStatus(next);
+        return true;
+    }
+
+    public void addStatusListener(IOrderStatusListener listener) {
+        statusListeners.add(listener);
+    }
+
+    public void removeStatusListener(IOrderStatusListener listener) {
+        statusListeners.remove(listener);
     }
 
     public OrderStatus getStatus() {
@@ -36,6 +73,10 @@ public class Order {
         orderItems.addItem(item);
     }
 
+    public void addItem(MenuItem item, int quantity) {
+        orderItems.addItem(item, quantity);
+    }
+
     public boolean removeItem(String itemId) {
         return orderItems.removeItem(itemId);
     }
@@ -14,9 +14,8 @@ public class OrderCalculator implements IOrderCalculator {
 
     @Override
     public double calculateSubtotal() {
-        return orderItems.getItems().stream()
-                .mapToDouble(MenuItem::getPrice)
-                .sum();
+        // Maintained incrementally by OrderItems, so no pass over the items
+        return orderItems.getSubtotal();
     }
 
     @Override
@@ -26,12 +25,14 @@ public class OrderCalculator implements IOrderCalculator {
 
     @Override
     public double calculateTotal() {
-        return calculateSubtotal() + calculateTax();
+        double subtotal = calculateSubtotal();
+        return subtotal + subtotal * TAX_RATE;
     }
 
     @Override
     public double applyDiscount(double discountPercentage) {
-        double discount = calculateSubtotal() * (discountPercentage / 100);
-        return calculateTotal() - discount;
+        double subtotal = calculateSubtotal();
+        double discount = subtotal * (discountPercentage / 100);
+        return subtotal + subtotal * TAX_RATE - discount;
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package models;
 
+import logging.Logger;
+
 import java.util.Date;
 
 public class OrderConfirmation {
+    private static final Logger logger = Logger.getLogger(OrderConfirmation.class);
+
     private Order order;
     private boolean isConfirmed;
     private Date confirmationTime;
@@ -14,14 +18,14 @@ public class OrderConfirmation {
 
     public boolean confirmOrder() {
         if (order.getOrderItems().getItemCount() == 0) {
-            System.out.println("Cannot confirm empty order");
+            logger.warn("Cannot confirm empty order");
             return false;
         }
 
         this.isConfirmed = true;
         this.confirmationTime = new Date();
         order.changeStatus(enums.OrderStatus.PENDING);
-        System.out.println("Order " + order.getOrderId() + " confirmed at " + confirmationTime);
+        logger.info("Order " + order.getOrderId() + " confirmed at " + confirmationTime);
         return true;
     }
 
@@ -0,0 +1,42 @@
+package models;
+
+import enums.OrderEventType;
+import enums.OrderStatus;
+
+public class OrderEvent {
+    private OrderEventType type;
+    private Order order;
+    private OrderStatus oldStatus; // null unless the status changed
+    private OrderStatus newStatus;
+    private long timestamp;
+
+    public OrderEvent(OrderEventType type, Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        this.type = type;
+        this.order = order;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    // A slow subscriber that missed the intermediate steps sees one change from the
+    // first old status straight to the latest one
+    public OrderEvent coalesce(OrderEvent later) {
+        OrderEvent merged = new OrderEvent(later.type, order, oldStatus, later.newStatus);
+        merged.timestamp = later.timestamp;
+        return merged;
+    }
+
+    // Getters
+    public OrderEventType getType() { return type; }
+    public Order getOrder() { return order; }
+    public String getOrderId() { return order.getOrderId(); }
+    public OrderStatus getOldStatus() { return oldStatus; }
+    public OrderStatus getNewStatus() { return newStatus; }
+    public long getTimestamp() { return timestamp; }
+
+    @Override
+    public String toString() {
+        return type + " " + order.getOrderId() +
+                (oldStatus != null ? " " + oldStatus + " -> " + newStatus : " " + newStatus);
+    }
+}
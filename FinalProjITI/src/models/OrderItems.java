@@ -1,40 +1,109 @@
 package models;
 
 import interfaces.IOrderItems;
+import logging.Logger;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class OrderItems implements IOrderItems {
+    private static final Logger logger = Logger.getLogger(OrderItems.class);
+
     private Order order;
-    private List<MenuItem> items;
+    private Map<String, OrderLine> lines; // itemId -> line, in the order items were first added
+    private Collection<OrderLine> linesView;
+    private int itemCount;
+    private double subtotal; // Running sum of line totals, kept in step with add/remove
 
     public OrderItems(Order order) {
         this.order = order;
-        this.items = new ArrayList<>();
+        this.lines = new LinkedHashMap<>();
+        this.linesView = Collections.unmodifiableCollection(lines.values());
+        this.itemCount = 0;
+        this.subtotal = 0.0;
     }
 
     @Override
     public void addItem(MenuItem item) {
-        items.add(item);
-        System.out.println("Added " + item.getName() + " to order " + order.getOrderId());
+        addItem(item, 1);
+    }
+
+    // Repeated adds of the same item keep the unit price of the first add
+    @Override
+    public void addItem(MenuItem item, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        OrderLine line = lines.get(item.getItemId());
+        if (line == null) {
+            line = new OrderLine(item, quantity);
+            lines.put(item.getItemId(), line);
+        } else {
+            line.addQuantity(quantity);
+        }
+        itemCount += quantity;
+        subtotal += line.getUnitPrice() * quantity;
+
+        if (quantity == 1) {
+            logger.debug(() -> "Added " + item.getName() + " to order " + order.getOrderId());
+        } else {
+            logger.debug(() -> "Added " + quantity + " x " + item.getName() + " to order " + order.getOrderId());
+        }
     }
 
     @Override
     public boolean removeItem(String itemId) {
-        return items.removeIf(item -> item.getItemId().equals(itemId));
+        OrderLine removed = lines.remove(itemId);
+        if (removed == null) {
+            return false;
+        }
+
+        itemCount -= removed.getQuantity();
+        subtotal -= removed.getLineTotal();
+        if (lines.isEmpty()) {
+            subtotal = 0.0; // Drop accumulated floating-point drift
+        }
+        return true;
     }
 
+    // One entry per unit, as before lines were introduced; prefer getLines() on hot paths
     @Override
     public List<MenuItem> getItems() {
-        return new ArrayList<>(items);
+        List<MenuItem> items = new ArrayList<>(itemCount);
+        for (OrderLine line : lines.values()) {
+            for (int i = 0; i < line.getQuantity(); i++) {
+                items.add(line.getItem());
+            }
+        }
+        return items;
+    }
+
+    // Live read-only view; nothing is copied
+    @Override
+    public Collection<OrderLine> getLines() {
+        return linesView;
     }
 
     @Override
     public boolean containsItem(String itemId) {
-        return items.stream().anyMatch(item -> item.getItemId().equals(itemId));
+        return lines.containsKey(itemId);
+    }
+
+    public int getQuantity(String itemId) {
+        OrderLine line = lines.get(itemId);
+        return line == null ? 0 : line.getQuantity();
     }
 
     public int getItemCount() {
-        return items.size();
+        return itemCount;
+    }
+
+    // Prices as they were when each item was added
+    public double getSubtotal() {
+        return subtotal;
     }
-}
\ No newline at end of file
+}
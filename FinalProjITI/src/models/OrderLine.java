@@ -0,0 +1,33 @@
+package models;
+
+// One line of an order: a menu item, the unit price it was added at, and how many
+public class OrderLine {
+    private MenuItem item;
+    private double unitPrice;
+    private int quantity;
+
+    public OrderLine(MenuItem item, int quantity) {
+        this.item = item;
+        this.unitPrice = item.getPrice();
+        this.quantity = quantity;
+    }
+
+    void addQuantity(int amount) {
+        this.quantity += amount;
+    }
+
+    public double getLineTotal() {
+        return unitPrice * quantity;
+    }
+
+    // Getters
+    public MenuItem getItem() { return item; }
+    public String getItemId() { return item.getItemId(); }
+    public double getUnitPrice() { return unitPrice; }
+    public int getQuantity() { return quantity; }
+
+    @Override
+    public String toString() {
+        return quantity + " x " + item.getName() + " ($" + unitPrice + ")";
+    }
+}
@@ -2,14 +2,28 @@ package models;
 
 import enums.PaymentMethod;
 import enums.PaymentStatus;
+import interfaces.IPaymentGateway;
+import logging.Logger;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import java.util.Date;
 
 public class Payment {
+    private static final Logger logger = Logger.getLogger(Payment.class);
+
+    private static final LatencyHistogram processTime = MetricsRegistry.histogram(
+            "cafeteria_payment_seconds", "Payment.processPayment latency");
+    private static final Counter paymentsCompleted = MetricsRegistry.counter(
+            "cafeteria_payments_total", "Payments settled, by outcome", "result", "completed");
+    private static final Counter paymentsFailed = MetricsRegistry.counter(
+            "cafeteria_payments_total", "Payments settled, by outcome", "result", "failed");
+
     private String paymentId;
     private Order order;
     private double amount;
-    private Date paymentDate;
-    private PaymentStatus status;
+    private volatile Date paymentDate;
+    private volatile PaymentStatus status;
     private PaymentMethod method;
 
     public Payment(String paymentId, Order order, PaymentMethod method) {
@@ -20,32 +34,51 @@ public class Payment {
         this.status = PaymentStatus.PENDING;
     }
 
-    public boolean processPayment() {
-        this.status = PaymentStatus.PROCESSING;
-        System.out.println("Processing payment " + paymentId + " for order " + order.getOrderId());
+    public boolean processPayment(IPaymentGateway gateway) {
+        long start = System.nanoTime();
+        markProcessing();
 
-        // Simulate payment processing
         try {
-            Thread.sleep(1000); // Simulate processing time
-            this.status = PaymentStatus.COMPLETED;
-            this.paymentDate = new Date();
-            System.out.println("Payment " + paymentId + " completed successfully");
-            return true;
+            if (gateway.charge(this)) {
+                markCompleted();
+                return true;
+            }
         } catch (InterruptedException e) {
-            this.status = PaymentStatus.FAILED;
-            System.out.println("Payment " + paymentId + " failed");
-            return false;
+            Thread.currentThread().interrupt();
+        } finally {
+            processTime.recordSince(start);
         }
+        markFailed();
+        return false;
+    }
+
+    // State transitions, also used when a gateway settles payments in batches
+    public void markProcessing() {
+        this.status = PaymentStatus.PROCESSING;
+        logger.info("Processing payment " + paymentId + " for order " + order.getOrderId());
+    }
+
+    public void markCompleted() {
+        this.status = PaymentStatus.COMPLETED;
+        this.paymentDate = new Date();
+        paymentsCompleted.increment();
+        logger.info("Payment " + paymentId + " completed successfully");
+    }
+
+    public void markFailed() {
+        this.status = PaymentStatus.FAILED;
+        paymentsFailed.increment();
+        logger.warn("Payment " + paymentId + " failed");
     }
 
-    public boolean refundPayment() {
+    public synchronized boolean refundPayment() {
         if (this.status != PaymentStatus.COMPLETED) {
-            System.out.println("Cannot refund payment that hasn't been completed");
+            logger.warn("Cannot refund payment that hasn't been completed");
             return false;
         }
 
         this.status = PaymentStatus.REFUNDED;
-        System.out.println("Payment " + paymentId + " refunded");
+        logger.info("Payment " + paymentId + " refunded");
         return true;
     }
 
@@ -64,6 +97,7 @@ public class Payment {
 
     // Getters
     public String getPaymentId() { return paymentId; }
+    public Order getOrder() { return order; }
     public double getAmount() { return amount; }
     public PaymentStatus getStatus() { return status; }
     public PaymentMethod getMethod() { return method; }
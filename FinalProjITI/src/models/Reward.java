@@ -1,6 +1,10 @@
 package models;
 
+import logging.Logger;
+
 public class Reward {
+    private static final Logger logger = Logger.getLogger(Reward.class);
+
     private String rewardId;
     private String name;
     private int pointCost;
@@ -14,12 +18,15 @@ public class Reward {
     }
 
     public boolean applyReward(Student student) {
-        if (student.viewPointsBalance() >= pointCost) {
-            student.deductPoints(pointCost);
-            System.out.println("Reward '" + name + "' applied for student " + student.getName());
-            return true;
+        // Points may be awarded concurrently by the order pipeline, so check and deduct atomically
+        synchronized (student) {
+            if (student.viewPointsBalance() >= pointCost) {
+                student.deductPoints(pointCost);
+                logger.info("Reward '" + name + "' applied for student " + student.getName());
+                return true;
+            }
         }
-        System.out.println("Insufficient points for reward '" + name + "'");
+        logger.warn("Insufficient points for reward '" + name + "'");
         return false;
     }
 
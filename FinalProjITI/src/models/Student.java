@@ -29,18 +29,22 @@ public class Student extends User {
         return cartItems;
     }
 
-    public int viewPointsBalance() {
+    public synchronized int viewPointsBalance() {
         return loyaltyPoints;
     }
 
-    public void addPoints(int points) {
+    public synchronized void addPoints(int points) {
         this.loyaltyPoints += points;
     }
 
-    public void deductPoints(int points) {
+    public synchronized void deductPoints(int points) {
         this.loyaltyPoints = Math.max(0, this.loyaltyPoints - points);
     }
 
+    public synchronized void setPointsBalance(int points) {
+        this.loyaltyPoints = points;
+    }
+
     public void addOrderToHistory(String orderId) {
         orderHistory.add(orderId);
     }
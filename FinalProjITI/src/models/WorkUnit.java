@@ -0,0 +1,26 @@
+package models;
+
+import enums.MenuCategory;
+
+// One order line waiting at a kitchen station
+public class WorkUnit {
+    private KitchenTicket ticket;
+    private MenuItem item;
+    private int quantity;
+    private long sequence; // Arrival order, breaks deadline ties
+
+    public WorkUnit(KitchenTicket ticket, MenuItem item, int quantity, long sequence) {
+        this.ticket = ticket;
+        this.item = item;
+        this.quantity = quantity;
+        this.sequence = sequence;
+    }
+
+    // Getters
+    public KitchenTicket getTicket() { return ticket; }
+    public MenuItem getItem() { return item; }
+    public MenuCategory getCategory() { return item.getCategory(); }
+    public int getQuantity() { return quantity; }
+    public long getDeadline() { return ticket.getDeadline(); }
+    public long getSequence() { return sequence; }
+}
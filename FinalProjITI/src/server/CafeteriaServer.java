@@ -0,0 +1,691 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import enums.AdmissionResult;
+import enums.MenuCategory;
+import enums.PaymentMethod;
+import enums.PaymentStatus;
+import logging.Logger;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import models.CartItem;
+import models.MenuItem;
+import models.MenuSnapshot;
+import models.Order;
+import models.OrderLine;
+import models.Payment;
+import models.Reward;
+import models.Student;
+import services.AdmissionController;
+import services.IdGenerator;
+import services.LoyaltyProgram;
+import services.MenuManager;
+import services.OrderProcessor;
+import services.PaymentProcessor;
+import services.StudentManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JSON ordering API for kiosks and the mobile app, served by the JDK HttpServer.
+// Each request runs on its own virtual thread where available (see RequestExecutors),
+// so handlers simply block on payment and admission like the console flow does.
+//
+//   GET  /api/menu[?category=DRINK][&all=true]   POST /api/login {username, password}   POST /api/logout
+//   GET  /api/menu/search?q=chiken+sandwch[&limit=10]    GET /api/menu/complete?prefix=chi[&limit=10]
+//   GET  /api/cart                       POST /api/cart {itemId, quantity}      DELETE /api/cart[/itemId]
+//   POST /api/orders {paymentMethod}     GET  /api/orders                       GET  /api/orders/{orderId}
+//   GET  /api/rewards                    POST /api/rewards/redeem {rewardId}
+//
+// Everything except the menu and login needs "Authorization: Bearer <token>" from /api/login;
+// a token left unused for 30 minutes expires. POST /api/orders takes an optional
+// Idempotency-Key header: a retry with the same key gets the original order back instead of
+// being charged again, for a day; a key whose attempt failed or was refunded can be retried.
+// The menu lists what is served at this time of day unless all=true is given.
+public class CafeteriaServer {
+    private static final Logger logger = Logger.getLogger(CafeteriaServer.class);
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final long SESSION_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long SESSION_SWEEP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long IDEMPOTENCY_KEY_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private StudentManager studentManager;
+    private MenuManager menuManager;
+    private LoyaltyProgram loyaltyProgram;
+    private OrderProcessor orderProcessor;
+    private PaymentProcessor paymentProcessor;
+    private AdmissionController admissionController;
+    private IdGenerator idGenerator;
+    private Map<String, Session> sessions; // Bearer token -> logged-in student
+    private AtomicLong lastSessionSweep;
+    private Map<String, PlacedOrder> ordersByIdempotencyKey; // studentId:key -> the order it placed
+    private AtomicLong lastKeySweep;
+    private volatile CachedMenu cachedMenu;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Thrown by handlers to answer with an error status
+    private static class ApiError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private int status;
+
+        ApiError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static class Session {
+        private Student student;
+        private volatile long lastUsedAt;
+
+        Session(Student student, long now) {
+            this.student = student;
+            this.lastUsedAt = now;
+        }
+    }
+
+    // Completes with the order ID once placed; a failed attempt removes itself first and
+    // completes with null, so whoever was waiting on it claims the key again
+    private static class PlacedOrder {
+        private CompletableFuture<String> orderId;
+        private long claimedAt;
+
+        PlacedOrder(long claimedAt) {
+            this.orderId = new CompletableFuture<>();
+            this.claimedAt = claimedAt;
+        }
+    }
+
+    private static class Reply {
+        private int status;
+        private String body;
+
+        Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Reply(int status, JsonWriter body) {
+            this(status, body.toString());
+        }
+    }
+
+    private interface Route {
+        Reply handle(HttpExchange exchange) throws IOException;
+    }
+
+    // The menu served now is the same snapshot instance until the menu changes or the next
+    // serving period starts, so its JSON is rendered once per instance
+    private static class CachedMenu {
+        private MenuSnapshot menu;
+        private String json;
+
+        CachedMenu(MenuSnapshot menu, String json) {
+            this.menu = menu;
+            this.json = json;
+        }
+    }
+
+    public CafeteriaServer(StudentManager studentManager, MenuManager menuManager, LoyaltyProgram loyaltyProgram,
+                           OrderProcessor orderProcessor, PaymentProcessor paymentProcessor,
+                           AdmissionController admissionController, IdGenerator idGenerator) {
+        this.studentManager = studentManager;
+        this.menuManager = menuManager;
+        this.loyaltyProgram = loyaltyProgram;
+        this.orderProcessor = orderProcessor;
+        this.paymentProcessor = paymentProcessor;
+        this.admissionController = admissionController;
+        this.idGenerator = idGenerator;
+        this.sessions = new ConcurrentHashMap<>();
+        this.lastSessionSweep = new AtomicLong(System.currentTimeMillis());
+        this.ordersByIdempotencyKey = new ConcurrentHashMap<>();
+        this.lastKeySweep = new AtomicLong(System.currentTimeMillis());
+    }
+
+    // Port 0 picks a free port, see getPort
+    public void start(int port) throws IOException {
+        // Without TCP_NODELAY the separate header and body writes stall ~40ms on delayed ACKs.
+        // The JDK server reads this once, when the first HttpServer in the process is created.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = RequestExecutors.newDefaultExecutor();
+        server.setExecutor(executor);
+        route("/api/menu", "menu", this::menu);
+        route("/api/menu/search", "menu_search", this::searchMenu);
+        route("/api/menu/complete", "menu_complete", this::completeSearchWord);
+        route("/api/login", "login", this::login);
+        route("/api/logout", "logout", this::logout);
+        route("/api/cart", "cart", this::cart);
+        route("/api/orders", "orders", this::orders);
+        route("/api/rewards", "rewards", this::rewards);
+        server.start();
+        logger.info("Ordering API listening on port " + getPort() +
+                (isUsingVirtualThreads() ? " (virtual threads)" : " (platform threads)"));
+    }
+
+    public void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            executor.shutdown();
+            try {
+                executor.awaitTermination(delaySeconds + 1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void route(String path, String name, Route route) {
+        LatencyHistogram latency = MetricsRegistry.histogram("cafeteria_http_request_seconds",
+                "Ordering API latency, by route", "route", name);
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            Reply reply;
+            try {
+                reply = route.handle(exchange);
+            } catch (ApiError e) {
+                reply = error(e.status, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                reply = error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Request " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed", e);
+                reply = error(500, "Internal error");
+            }
+            try {
+                send(exchange, reply);
+            } finally {
+                exchange.close();
+                latency.recordSince(start);
+            }
+        });
+    }
+
+    private Reply menu(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = queryParameters(exchange);
+        MenuSnapshot servedNow = menuManager.getCurrentMenu();
+        MenuSnapshot menu = "true".equalsIgnoreCase(query.get("all")) ? menuManager.getSnapshot() : servedNow;
+        if (query.get("category") != null) {
+            MenuCategory category = MenuCategory.valueOf(query.get("category").toUpperCase());
+            return new Reply(200, writeMenuItems(servedNow, menu.getItems(category)));
+        }
+        if (menu != servedNow) {
+            return new Reply(200, writeMenuItems(servedNow, menu.getItems()));
+        }
+
+        CachedMenu current = cachedMenu;
+        if (current == null || current.menu != servedNow) {
+            current = new CachedMenu(servedNow, writeMenuItems(servedNow, servedNow.getItems()).toString());
+            cachedMenu = current;
+        }
+        return new Reply(200, current.json);
+    }
+
+    private Reply searchMenu(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = queryParameters(exchange);
+        String text = query.get("q");
+        if (text == null || text.isBlank()) {
+            throw new ApiError(400, "Missing parameter q");
+        }
+        return new Reply(200, writeMenuItems(menuManager.getCurrentMenu(), menuManager.searchMenu(text, limit(query))));
+    }
+
+    private Reply completeSearchWord(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = queryParameters(exchange);
+        JsonWriter json = new JsonWriter().beginArray();
+        for (String word : menuManager.completeSearchWord(query.getOrDefault("prefix", ""), limit(query))) {
+            json.value(word);
+        }
+        return new Reply(200, json.endArray());
+    }
+
+    private static int limit(Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", "10"));
+        if (limit < 1) {
+            throw new ApiError(400, "limit must be positive");
+        }
+        return Math.min(limit, MAX_SEARCH_RESULTS);
+    }
+
+    // Items that are sold out or not served at this time stay listed, flagged "available": false
+    private JsonWriter writeMenuItems(MenuSnapshot servedNow, List<MenuItem> items) {
+        JsonWriter json = new JsonWriter().beginArray();
+        for (MenuItem item : items) {
+            json.beginObject()
+                    .field("itemId", item.getItemId())
+                    .field("name", item.getName())
+                    .field("description", item.getDescription())
+                    .field("price", item.getPrice())
+                    .field("category", item.getCategory().name())
+                    .field("available", servedNow.contains(item.getItemId()) && !servedNow.isSoldOut(item.getItemId()))
+                    .endObject();
+        }
+        return json.endArray();
+    }
+
+    private Reply login(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        Map<String, String> body = readBody(exchange);
+        Student student = studentManager.login(required(body, "username"), required(body, "password"));
+        if (student == null) {
+            throw new ApiError(401, "Invalid username or password");
+        }
+        String token = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        expireIdleSessions(now);
+        sessions.put(token, new Session(student, now));
+        return new Reply(200, new JsonWriter().beginObject()
+                .field("token", token)
+                .field("studentId", student.getStudentId())
+                .field("name", student.getName())
+                .field("points", student.viewPointsBalance())
+                .endObject());
+    }
+
+    private Reply logout(HttpExchange exchange) {
+        requireMethod(exchange, "POST");
+        requireStudent(exchange);
+        sessions.remove(token(exchange));
+        return new Reply(200, new JsonWriter().beginObject().field("loggedOut", true).endObject());
+    }
+
+    private Reply cart(HttpExchange exchange) throws IOException {
+        Student student = requireStudent(exchange);
+        String itemId = pathParameter(exchange, "/api/cart");
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                break;
+            case "POST":
+                Map<String, String> body = readBody(exchange);
+                MenuItem item = menuManager.getMenuItemById(required(body, "itemId"));
+                if (item == null) {
+                    throw new ApiError(404, "No menu item " + body.get("itemId"));
+                }
+                int quantity = body.get("quantity") == null ? 1 : Integer.parseInt(body.get("quantity"));
+                if (quantity <= 0) {
+                    throw new ApiError(400, "Quantity must be positive");
+                }
+                MenuSnapshot servedNow = menuManager.getCurrentMenu();
+                if (!servedNow.contains(item.getItemId())) {
+                    throw new ApiError(409, item.getName() + " is not served at this time");
+                }
+                if (servedNow.isSoldOut(item.getItemId())) {
+                    throw new ApiError(409, item.getName() + " is sold out");
+                }
+                synchronized (student) {
+                    student.addToCart(item, quantity);
+                }
+                break;
+            case "DELETE":
+                synchronized (student) {
+                    if (itemId == null) {
+                        student.clearCart();
+                    } else {
+                        student.removeFromCart(itemId);
+                    }
+                }
+                break;
+            default:
+                throw new ApiError(405, "Method not allowed");
+        }
+        return new Reply(200, writeCart(student));
+    }
+
+    private JsonWriter writeCart(Student student) {
+        JsonWriter json = new JsonWriter().beginObject().name("items").beginArray();
+        synchronized (student) {
+            for (CartItem cartItem : student.getCartItems()) {
+                json.beginObject()
+                        .field("itemId", cartItem.getItem().getItemId())
+                        .field("name", cartItem.getItem().getName())
+                        .field("quantity", cartItem.getQuantity())
+                        .field("unitPrice", cartItem.getItem().getPrice())
+                        .field("lineTotal", cartItem.getTotalPrice())
+                        .endObject();
+            }
+            json.endArray()
+                    .field("itemCount", student.getCartItemCount())
+                    .field("subtotal", student.getCartTotal());
+        }
+        return json.endObject();
+    }
+
+    private Reply orders(HttpExchange exchange) throws IOException {
+        Student student = requireStudent(exchange);
+        String orderId = pathParameter(exchange, "/api/orders");
+        if (orderId != null) {
+            requireMethod(exchange, "GET");
+            Order order = orderProcessor.getOrderById(orderId);
+            if (order == null || order.getStudent() != student) {
+                throw new ApiError(404, "No order " + orderId);
+            }
+            return new Reply(200, writeOrder(new JsonWriter(), order, true));
+        }
+        if ("POST".equals(exchange.getRequestMethod())) {
+            return placeOrder(exchange, student);
+        }
+        requireMethod(exchange, "GET");
+
+        List<String> history;
+        synchronized (student) {
+            history = new ArrayList<>(student.getOrderHistory());
+        }
+        JsonWriter json = new JsonWriter().beginArray();
+        for (String id : history) {
+            Order order = orderProcessor.getOrderById(id);
+            if (order != null) {
+                writeOrder(json, order, false);
+            }
+        }
+        return new Reply(200, json.endArray());
+    }
+
+    // Same sequence as the console and GUI checkout: rate limit, charge, then the intake queue
+    private Reply placeOrder(HttpExchange exchange, Student student) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        PaymentMethod method = body.get("paymentMethod") == null ? PaymentMethod.CREDIT_CARD
+                : PaymentMethod.valueOf(body.get("paymentMethod").toUpperCase());
+
+        // Scoped to the student so two clients choosing the same key don't collide. Checked
+        // before the cart is touched: the retry of a placed order finds the cart already empty.
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        PlacedOrder keyClaim = null;
+        if (idempotencyKey != null) {
+            idempotencyKey = student.getStudentId() + ":" + idempotencyKey;
+            keyClaim = new PlacedOrder(System.currentTimeMillis());
+            Order original = claimIdempotencyKey(idempotencyKey, keyClaim);
+            if (original != null) {
+                return new Reply(201, writeOrder(new JsonWriter(), original, true));
+            }
+        }
+
+        Order order = null;
+        try {
+            order = checkout(student, method, idempotencyKey);
+        } finally {
+            if (keyClaim != null) {
+                if (order == null) {
+                    ordersByIdempotencyKey.remove(idempotencyKey, keyClaim);
+                }
+                keyClaim.orderId.complete(order == null ? null : order.getOrderId());
+            }
+        }
+
+        synchronized (student) {
+            student.addOrderToHistory(order.getOrderId());
+        }
+        return new Reply(201, writeOrder(new JsonWriter(), order, true));
+    }
+
+    // Null once this request holds the key; otherwise the order an earlier request placed
+    // with it, waiting for that request to finish if it is still running
+    private Order claimIdempotencyKey(String idempotencyKey, PlacedOrder claim) {
+        expireIdempotencyKeys(claim.claimedAt);
+        while (true) {
+            PlacedOrder earlier = ordersByIdempotencyKey.putIfAbsent(idempotencyKey, claim);
+            if (earlier == null) {
+                return null;
+            }
+            String orderId = earlier.orderId.join();
+            if (orderId != null) {
+                Order original = orderProcessor.getOrderById(orderId);
+                if (original == null) {
+                    throw new ApiError(409, "Order " + orderId + " was already placed for this Idempotency-Key");
+                }
+                return original;
+            }
+            // That attempt failed and gave the key up; try to take it
+        }
+    }
+
+    // At most one sweep a minute, by whichever order submission gets there first
+    private void expireIdempotencyKeys(long now) {
+        long last = lastKeySweep.get();
+        if (now - last < SESSION_SWEEP_MILLIS || !lastKeySweep.compareAndSet(last, now)) {
+            return;
+        }
+        ordersByIdempotencyKey.values().removeIf(placed -> now - placed.claimedAt > IDEMPOTENCY_KEY_TTL_MILLIS);
+    }
+
+    // Charges and enqueues the student's cart; the cart is put back if the order isn't placed
+    private Order checkout(Student student, PaymentMethod method, String idempotencyKey) {
+        // Taking the cart and emptying it in one step means two submissions can't both order it
+        List<CartItem> claimed;
+        synchronized (student) {
+            claimed = new ArrayList<>(student.getCartItems());
+            student.clearCart();
+        }
+        if (claimed.isEmpty()) {
+            throw new ApiError(400, "Cart is empty");
+        }
+        Order order = new Order(idGenerator.nextOrderId(), student);
+        for (CartItem cartItem : claimed) {
+            order.addItem(cartItem.getItem(), cartItem.getQuantity());
+        }
+
+        boolean placed = false;
+        try {
+            // The cart may hold items added before their serving period ended
+            MenuSnapshot servedNow = menuManager.getCurrentMenu();
+            for (OrderLine line : order.getOrderItems().getLines()) {
+                if (!servedNow.contains(line.getItemId())) {
+                    throw new ApiError(409, line.getItem().getName() + " is not served at this time");
+                }
+            }
+
+            // Checked before taking payment; the reservation in processOrder is what guarantees it
+            if (!menuManager.getInventory().canFulfil(order)) {
+                throw new ApiError(409, "Not enough stock for this order");
+            }
+
+            AdmissionResult admission = admissionController.tryAcquire(student.getStudentId());
+            if (admission != AdmissionResult.ACCEPTED) {
+                throw new ApiError(429, admission.name());
+            }
+            Payment payment = new Payment(idGenerator.nextPaymentId(), order, method);
+            boolean paid = paymentProcessor.processPayment(payment, idempotencyKey);
+            if (paid && payment.getStatus() == PaymentStatus.PENDING) {
+                // The key was already used: that submission was charged and placed its own order
+                throw new ApiError(409, "Duplicate request, the order for this Idempotency-Key was already placed");
+            }
+            if (!paid) {
+                throw new ApiError(402, "Payment failed");
+            }
+            AdmissionResult result = admissionController.enqueue(order).join();
+            if (result != AdmissionResult.ACCEPTED) {
+                paymentProcessor.refundPayment(payment.getPaymentId());
+                throw new ApiError(503, result.name() + ", payment refunded");
+            }
+            placed = true;
+        } finally {
+            if (!placed) {
+                // Back into the cart, alongside anything added meanwhile
+                synchronized (student) {
+                    for (CartItem cartItem : claimed) {
+                        student.addToCart(cartItem.getItem(), cartItem.getQuantity());
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private JsonWriter writeOrder(JsonWriter json, Order order, boolean withLines) {
+        json.beginObject()
+                .field("orderId", order.getOrderId())
+                .field("status", order.getStatus().name())
+                .field("orderDate", order.getOrderDate().getTime())
+                .field("total", order.getOrderCalculator().calculateTotal());
+        if (withLines) {
+            json.name("lines").beginArray();
+            for (OrderLine line : order.getOrderItems().getLines()) {
+                json.beginObject()
+                        .field("itemId", line.getItemId())
+                        .field("name", line.getItem().getName())
+                        .field("quantity", line.getQuantity())
+                        .field("lineTotal", line.getLineTotal())
+                        .endObject();
+            }
+            json.endArray();
+        }
+        return json.endObject();
+    }
+
+    private Reply rewards(HttpExchange exchange) throws IOException {
+        Student student = requireStudent(exchange);
+        String action = pathParameter(exchange, "/api/rewards");
+        if (action == null) {
+            requireMethod(exchange, "GET");
+            JsonWriter json = new JsonWriter().beginObject()
+                    .field("points", student.viewPointsBalance())
+                    .name("rewards").beginArray();
+            for (Reward reward : loyaltyProgram.getRewards().values()) {
+                json.beginObject()
+                        .field("rewardId", reward.getRewardId())
+                        .field("name", reward.getName())
+                        .field("pointCost", reward.getPointCost())
+                        .field("description", reward.getDescription())
+                        .endObject();
+            }
+            return new Reply(200, json.endArray().endObject());
+        }
+        if (!action.equals("redeem")) {
+            throw new ApiError(404, "Not found");
+        }
+
+        requireMethod(exchange, "POST");
+        String rewardId = required(readBody(exchange), "rewardId");
+        if (!loyaltyProgram.getRewards().containsKey(rewardId)) {
+            throw new ApiError(404, "No reward " + rewardId);
+        }
+        if (!loyaltyProgram.redeemReward(student, rewardId)) {
+            throw new ApiError(409, "Not enough points");
+        }
+        return new Reply(200, new JsonWriter().beginObject()
+                .field("redeemed", rewardId)
+                .field("points", student.viewPointsBalance())
+                .endObject());
+    }
+
+    private Student requireStudent(HttpExchange exchange) {
+        String token = token(exchange);
+        Session session = token == null ? null : sessions.get(token);
+        long now = System.currentTimeMillis();
+        if (session == null || now - session.lastUsedAt > SESSION_IDLE_MILLIS) {
+            if (session != null) {
+                sessions.remove(token, session);
+            }
+            throw new ApiError(401, "Login required");
+        }
+        session.lastUsedAt = now;
+        return session.student;
+    }
+
+    // Expired sessions are dropped when presented; this also clears ones that never come back.
+    // At most one sweep a minute, by whichever login gets there first.
+    private void expireIdleSessions(long now) {
+        long last = lastSessionSweep.get();
+        if (now - last < SESSION_SWEEP_MILLIS || !lastSessionSweep.compareAndSet(last, now)) {
+            return;
+        }
+        sessions.values().removeIf(session -> now - session.lastUsedAt > SESSION_IDLE_MILLIS);
+    }
+
+    private static String token(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        return header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!method.equals(exchange.getRequestMethod())) {
+            throw new ApiError(405, "Method not allowed");
+        }
+    }
+
+    // "/api/orders/ORD42" -> "ORD42"; null when the path is just the context
+    private static String pathParameter(HttpExchange exchange, String context) {
+        String path = exchange.getRequestURI().getPath();
+        if (path.length() <= context.length() + 1) {
+            return null;
+        }
+        if (path.charAt(context.length()) != '/') {
+            throw new ApiError(404, "Not found");
+        }
+        return path.substring(context.length() + 1);
+    }
+
+    // "q=chiken+sandwch&limit=5" -> {q=chiken sandwch, limit=5}
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String required(Map<String, String> body, String field) {
+        String value = body.get(field);
+        if (value == null || value.isEmpty()) {
+            throw new ApiError(400, "Missing field " + field);
+        }
+        return value;
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiError(413, "Request body too large");
+            }
+            return JsonParser.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Reply error(int status, String message) {
+        return new Reply(status, new JsonWriter().beginObject().field("error", message).endObject());
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(reply.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Getters
+    public int getPort() { return server.getAddress().getPort(); }
+    public int getSessionCount() { return sessions.size(); }
+    public boolean isUsingVirtualThreads() { return RequestExecutors.isVirtual(executor); }
+}
@@ -0,0 +1,132 @@
+package server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Reads the flat request bodies the API accepts, e.g. {"itemId":"M1","quantity":2}.
+// Values come back as strings (numbers and booleans in their literal form, null as null);
+// nested objects and arrays are rejected.
+public class JsonParser {
+    private String text;
+    private int position;
+
+    private JsonParser(String text) {
+        this.text = text;
+    }
+
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return fields;
+        }
+        JsonParser parser = new JsonParser(text);
+        parser.expect('{');
+        if (parser.peek() == '}') {
+            parser.position++;
+            parser.expectEnd();
+            return fields;
+        }
+        do {
+            String name = parser.readString();
+            parser.expect(':');
+            fields.put(name, parser.readValue());
+        } while (parser.consumeIf(','));
+        parser.expect('}');
+        parser.expectEnd();
+        return fields;
+    }
+
+    private String readValue() {
+        char c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Nested values are not supported");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("Expected a value");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 'r': value.append('\r'); break;
+                case 't': value.append('\t'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Truncated unicode escape");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                    break;
+                default: value.append(escaped); // \" \\ \/
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private char peek() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(position);
+    }
+
+    private boolean consumeIf(char expected) {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    private void expectEnd() {
+        skipWhitespace();
+        if (position < text.length()) {
+            throw error("Unexpected trailing content");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+}
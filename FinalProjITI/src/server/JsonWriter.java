@@ -0,0 +1,134 @@
+package server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Streaming JSON builder for API responses; tracks commas per nesting level
+public class JsonWriter {
+    private StringBuilder out;
+    private Deque<Boolean> firstInScope; // Whether the next element at this level is the first
+    private boolean afterName;
+
+    public JsonWriter() {
+        this.out = new StringBuilder(256);
+        this.firstInScope = new ArrayDeque<>();
+    }
+
+    public JsonWriter beginObject() {
+        separate();
+        out.append('{');
+        firstInScope.push(true);
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        firstInScope.pop();
+        out.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        out.append('[');
+        firstInScope.push(true);
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        firstInScope.pop();
+        out.append(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    // Money and rates are rounded to cents for display
+    public JsonWriter value(double value) {
+        separate();
+        out.append(Math.round(value * 100) / 100.0);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    public JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!firstInScope.isEmpty()) {
+            if (!firstInScope.pop()) {
+                out.append(',');
+            }
+            firstInScope.push(false);
+        }
+    }
+
+    private void string(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
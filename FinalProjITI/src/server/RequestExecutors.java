@@ -0,0 +1,35 @@
+package server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestExecutors {
+    private RequestExecutors() {
+    }
+
+    // One virtual thread per request on Java 21+, so a handler blocked on the payment
+    // gateway costs no platform thread. Older JDKs fall back to a cached pool.
+    public static ExecutorService newDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return newPlatformExecutor();
+        }
+    }
+
+    public static ExecutorService newPlatformExecutor() {
+        AtomicInteger counter = new AtomicInteger(1);
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "http-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static boolean isVirtual(ExecutorService executor) {
+        return executor.getClass().getName().contains("ThreadPerTaskExecutor");
+    }
+}
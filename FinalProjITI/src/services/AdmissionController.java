@@ -0,0 +1,180 @@
+package services;
+
+import enums.AdmissionResult;
+import enums.BackpressurePolicy;
+import interfaces.IOrderProcessor;
+import logging.Logger;
+import models.Order;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Front door for order intake. An order must pass its student's token bucket and the
+// global one, then wait in a bounded intake queue for an intake worker to run
+// processOrder. Buckets are lock-free and per-student buckets live in a ConcurrentHashMap,
+// so concurrent kiosks only contend when they hit the same student.
+public class AdmissionController {
+    private static final Logger logger = Logger.getLogger(AdmissionController.class);
+    private static final int EVICTION_SAMPLE = 1024; // Roughly one sweep of idle buckets per this many checks
+
+    private IOrderProcessor orderProcessor;
+    private double studentRatePerSecond;
+    private int studentBurst;
+    private Map<String, TokenBucket> studentBuckets;
+    private TokenBucket globalBucket;
+    private BackpressurePolicy policy;
+    private ThreadPoolExecutor intake;
+
+    // Metrics
+    private LongAdder accepted;
+    private LongAdder rejectedStudentRate;
+    private LongAdder rejectedGlobalRate;
+    private LongAdder rejectedQueueFull;
+    private LongAdder failed;
+
+    public AdmissionController(IOrderProcessor orderProcessor, double studentOrdersPerMinute, int studentBurst,
+                               double globalOrdersPerSecond, int globalBurst,
+                               int queueCapacity, int workers, BackpressurePolicy policy) {
+        this.orderProcessor = orderProcessor;
+        this.studentRatePerSecond = studentOrdersPerMinute / 60.0;
+        this.studentBurst = studentBurst;
+        this.studentBuckets = new ConcurrentHashMap<>();
+        this.globalBucket = new TokenBucket(globalOrdersPerSecond, globalBurst);
+        this.policy = policy;
+        this.accepted = new LongAdder();
+        this.rejectedStudentRate = new LongAdder();
+        this.rejectedGlobalRate = new LongAdder();
+        this.rejectedQueueFull = new LongAdder();
+        this.failed = new LongAdder();
+
+        AtomicInteger counter = new AtomicInteger(1);
+        this.intake = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "order-intake-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Defaults sized for a single cafeteria: 5 orders a minute per student (burst of 3),
+    // 20 orders a second overall, and a 256-order intake queue that rejects when full
+    public AdmissionController(IOrderProcessor orderProcessor) {
+        this(orderProcessor, 5, 3, 20, 50, 256, 2, BackpressurePolicy.DROP);
+    }
+
+    // Rate limits only; callers that charge before ordering check this first
+    public AdmissionResult tryAcquire(String studentId) {
+        long now = System.nanoTime();
+        if (ThreadLocalRandom.current().nextInt(EVICTION_SAMPLE) == 0) {
+            evictIdleBuckets(now);
+        }
+
+        TokenBucket studentBucket = studentBuckets.computeIfAbsent(studentId,
+                id -> new TokenBucket(studentRatePerSecond, studentBurst));
+        if (!studentBucket.tryAcquire(now)) {
+            rejectedStudentRate.increment();
+            return AdmissionResult.REJECTED_STUDENT_RATE;
+        }
+        if (!globalBucket.tryAcquire(now)) {
+            studentBucket.release(); // Not this student's fault
+            rejectedGlobalRate.increment();
+            return AdmissionResult.REJECTED_GLOBAL_RATE;
+        }
+        return AdmissionResult.ACCEPTED;
+    }
+
+    // Rate limits, then the intake queue
+    public CompletableFuture<AdmissionResult> submit(Order order) {
+        AdmissionResult permit = tryAcquire(order.getStudent().getStudentId());
+        if (permit != AdmissionResult.ACCEPTED) {
+            return CompletableFuture.completedFuture(permit);
+        }
+        return enqueue(order);
+    }
+
+    // Intake queue only, for orders that already passed tryAcquire
+    public CompletableFuture<AdmissionResult> enqueue(Order order) {
+        CompletableFuture<AdmissionResult> result = new CompletableFuture<>();
+        Runnable task = () -> result.complete(process(order));
+        try {
+            intake.execute(task);
+        } catch (RejectedExecutionException e) {
+            handleFullQueue(order, task, result);
+        }
+        return result;
+    }
+
+    private void handleFullQueue(Order order, Runnable task, CompletableFuture<AdmissionResult> result) {
+        if (!intake.isShutdown()) {
+            switch (policy) {
+                case BLOCK:
+                    try {
+                        intake.getQueue().put(task);
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                case CALLER_RUNS:
+                    task.run();
+                    return;
+                default:
+                    break;
+            }
+        }
+        rejectedQueueFull.increment();
+        logger.warn("Order intake queue is full, rejecting order " + order.getOrderId());
+        result.complete(AdmissionResult.REJECTED_QUEUE_FULL);
+    }
+
+    private AdmissionResult process(Order order) {
+        try {
+            if (orderProcessor.processOrder(order)) {
+                accepted.increment();
+                return AdmissionResult.ACCEPTED;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Order intake failed for " + order.getOrderId(), e);
+        }
+        failed.increment();
+        return AdmissionResult.FAILED;
+    }
+
+    // A full bucket is the same as a missing one, so idle students don't pile up in the map
+    private void evictIdleBuckets(long now) {
+        studentBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) {
+        intake.shutdown();
+        try {
+            intake.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String getSummary() {
+        return String.format("Admission: accepted=%d rejectedStudentRate=%d rejectedGlobalRate=%d " +
+                        "rejectedQueueFull=%d failed=%d queued=%d trackedStudents=%d",
+                getAcceptedCount(), getRejectedStudentRateCount(), getRejectedGlobalRateCount(),
+                getRejectedQueueFullCount(), getFailedCount(), getQueueDepth(), studentBuckets.size());
+    }
+
+    // Getters
+    public BackpressurePolicy getPolicy() { return policy; }
+    public int getQueueDepth() { return intake.getQueue().size(); }
+    public long getAcceptedCount() { return accepted.sum(); }
+    public long getRejectedStudentRateCount() { return rejectedStudentRate.sum(); }
+    public long getRejectedGlobalRateCount() { return rejectedGlobalRate.sum(); }
+    public long getRejectedQueueFullCount() { return rejectedQueueFull.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+}
@@ -0,0 +1,151 @@
+package services;
+
+import logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-ordered 63-bit IDs: | 41 bits ms since EPOCH | 10 bits node | 12 bits sequence |
+public class IdGenerator {
+    private static final Logger logger = Logger.getLogger(IdGenerator.class);
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13; // Long.MAX_VALUE in base 36
+    private static final String NODE_ID_PROPERTY = "cafeteria.nodeId";
+    private static final String NODE_ID_FILE = "node.id";
+
+    private long nodeId;
+    private AtomicLong state; // (timestamp << SEQUENCE_BITS) | sequence of the last issued ID
+
+    // Throwaway generators (benchmarks): cafeteria.nodeId if set, otherwise node 0
+    public IdGenerator() {
+        this(configuredNodeId());
+    }
+
+    public IdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.state = new AtomicLong();
+    }
+
+    // For a process that issues IDs alongside others, such as each API server instance. Nothing
+    // local is unique across hosts (PIDs repeat, and are often 1 in every container), so
+    // cafeteria.nodeId must be set, to a different value on each instance.
+    public static IdGenerator forCluster() {
+        if (System.getProperty(NODE_ID_PROPERTY) == null) {
+            throw new IllegalStateException("Set -D" + NODE_ID_PROPERTY + "=<0-" + MAX_NODE_ID
+                    + ">, unique for each running instance");
+        }
+        return new IdGenerator(configuredNodeId());
+    }
+
+    // For the GUI and console, which keep data between runs: cafeteria.nodeId if set, otherwise a
+    // random node ID picked on first start and kept in the data directory, so two installs
+    // sharing a database or API don't both issue IDs as node 0
+    public static IdGenerator forDataDirectory(Path dataDirectory) {
+        if (System.getProperty(NODE_ID_PROPERTY) != null) {
+            return new IdGenerator(configuredNodeId());
+        }
+        Path nodeIdFile = dataDirectory.resolve(NODE_ID_FILE);
+        try {
+            if (Files.exists(nodeIdFile)) {
+                String stored = new String(Files.readAllBytes(nodeIdFile), StandardCharsets.UTF_8).trim();
+                return new IdGenerator(Long.parseLong(stored));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable node ID in " + nodeIdFile + ": " + e.getMessage());
+        }
+
+        long nodeId = new SecureRandom().nextInt((int) MAX_NODE_ID + 1);
+        try {
+            Files.createDirectories(dataDirectory);
+            Path temp = Files.createTempFile(dataDirectory, NODE_ID_FILE, ".tmp");
+            Files.write(temp, Long.toString(nodeId).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, nodeIdFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Assigned node ID " + nodeId + ", saved to " + nodeIdFile);
+        } catch (IOException e) {
+            logger.warn("Could not save node ID " + nodeId + " to " + nodeIdFile + ", it will change on restart: " + e.getMessage());
+        }
+        return new IdGenerator(nodeId);
+    }
+
+    private static long configuredNodeId() {
+        String configured = System.getProperty(NODE_ID_PROPERTY);
+        if (configured == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(configured.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(NODE_ID_PROPERTY + " is not a number: " + configured);
+        }
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long sequence = current & SEQUENCE_MASK;
+            long now = System.currentTimeMillis() - EPOCH;
+
+            long timestamp;
+            long nextSequence;
+            if (now > lastTimestamp) {
+                timestamp = now;
+                nextSequence = 0;
+            } else if (sequence < SEQUENCE_MASK) {
+                // Same millisecond, or the clock stepped back: stay on the last timestamp
+                timestamp = lastTimestamp;
+                nextSequence = sequence + 1;
+            } else {
+                // Sequence exhausted: borrow the next millisecond instead of spinning
+                timestamp = lastTimestamp + 1;
+                nextSequence = 0;
+            }
+
+            if (state.compareAndSet(current, (timestamp << SEQUENCE_BITS) | nextSequence)) {
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | nextSequence;
+            }
+        }
+    }
+
+    public String nextOrderId() {
+        return "ORD" + encode(nextId());
+    }
+
+    public String nextPaymentId() {
+        return "PAY" + encode(nextId());
+    }
+
+    // Fixed-width base 36 so string order matches numeric (and therefore creation) order
+    public static String encode(long id) {
+        String digits = Long.toString(id, 36).toUpperCase();
+        StringBuilder encoded = new StringBuilder(ENCODED_LENGTH);
+        for (int i = digits.length(); i < ENCODED_LENGTH; i++) {
+            encoded.append('0');
+        }
+        return encoded.append(digits).toString();
+    }
+
+    public static long getTimestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long getNodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
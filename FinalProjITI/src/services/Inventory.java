@@ -0,0 +1,230 @@
+package services;
+
+import enums.OrderStatus;
+import interfaces.IOrderStatusListener;
+import interfaces.IStockListener;
+import logging.Logger;
+import models.Order;
+import models.OrderLine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-item stock with reservations. Each tracked item is one AtomicLong holding both the units
+// still available and the units reserved by open orders, so a reservation is a single CAS on
+// that item: checkouts of different items never contend, and no interleaving can take more
+// units than are available. Items that were never given a stock level are unlimited.
+//
+// An order reserves its lines when it is confirmed; the reservation is committed (units leave
+// the shelf) when it is COMPLETED and released back to available when it is CANCELLED.
+public class Inventory implements IOrderStatusListener {
+    private static final Logger logger = Logger.getLogger(Inventory.class);
+
+    private static final long AVAILABLE_UNIT = 1L << 32; // Available in the high half, reserved in the low half
+    private static final long RESERVED_MASK = 0xFFFF_FFFFL;
+
+    // Units an order holds of one item. Keeps the counter it was taken from, so settling after
+    // stopTracking/setStock never touches a different counter.
+    private static class Reservation {
+        private String itemId;
+        private AtomicLong level;
+        private int quantity;
+
+        Reservation(String itemId, AtomicLong level, int quantity) {
+            this.itemId = itemId;
+            this.level = level;
+            this.quantity = quantity;
+        }
+    }
+
+    private Map<String, AtomicLong> stock; // itemId -> packed (available, reserved)
+    private Map<String, List<Reservation>> reservations; // orderId -> what it holds, until settled
+    private IStockListener listener; // Null when nobody needs sold-out changes
+
+    public Inventory() {
+        this(null);
+    }
+
+    public Inventory(IStockListener listener) {
+        this.stock = new ConcurrentHashMap<>();
+        this.reservations = new ConcurrentHashMap<>();
+        this.listener = listener;
+    }
+
+    // Sets the units on the shelf, including ones already reserved by open orders
+    public void setStock(String itemId, int onHand) {
+        if (onHand < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative: " + onHand);
+        }
+        boolean tracked = stock.containsKey(itemId); // Untracked items were unlimited, not empty
+        AtomicLong level = stock.computeIfAbsent(itemId, id -> new AtomicLong());
+        while (true) {
+            long current = level.get();
+            long reserved = reserved(current);
+            long next = pack(Math.max(0, onHand - reserved), reserved);
+            if (level.compareAndSet(current, next)) {
+                availabilityChanged(itemId, tracked ? available(current) : Integer.MAX_VALUE, available(next));
+                return;
+            }
+        }
+    }
+
+    public void restock(String itemId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Restock quantity must be positive: " + quantity);
+        }
+        AtomicLong level = stock.computeIfAbsent(itemId, id -> new AtomicLong());
+        long after = level.addAndGet(quantity * AVAILABLE_UNIT);
+        availabilityChanged(itemId, available(after) - quantity, available(after));
+    }
+
+    // Back to unlimited
+    public void stopTracking(String itemId) {
+        AtomicLong removed = stock.remove(itemId);
+        if (removed != null) {
+            availabilityChanged(itemId, available(removed.get()), 1);
+        }
+    }
+
+    // All or nothing: either every tracked line of the order is reserved or none is
+    public boolean reserve(Order order) {
+        List<Reservation> reserved = new ArrayList<>();
+        for (OrderLine line : order.getOrderItems().getLines()) {
+            AtomicLong level = stock.get(line.getItemId());
+            if (level == null) {
+                continue;
+            }
+            if (!take(line.getItemId(), level, line.getQuantity())) {
+                for (Reservation taken : reserved) {
+                    giveBack(taken, false);
+                }
+                logger.info(() -> "Order " + order.getOrderId() + " rejected: " + line.getItem().getName() + " is out of stock");
+                return false;
+            }
+            reserved.add(new Reservation(line.getItemId(), level, line.getQuantity()));
+        }
+        if (!reserved.isEmpty()) {
+            reservations.put(order.getOrderId(), reserved);
+        }
+        return true;
+    }
+
+    // Whether the order could be reserved right now; a later reserve may still lose a race
+    public boolean canFulfil(Order order) {
+        for (OrderLine line : order.getOrderItems().getLines()) {
+            if (getAvailable(line.getItemId()) < line.getQuantity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The units leave the shelf
+    public void commit(Order order) {
+        settle(order.getOrderId(), true);
+    }
+
+    // The units go back on sale
+    public void release(Order order) {
+        settle(order.getOrderId(), false);
+    }
+
+    @Override
+    public void onStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        if (newStatus == OrderStatus.COMPLETED) {
+            commit(order);
+        } else if (newStatus == OrderStatus.CANCELLED) {
+            release(order);
+        }
+    }
+
+    public boolean isTracked(String itemId) {
+        return stock.containsKey(itemId);
+    }
+
+    public boolean isInStock(String itemId) {
+        return getAvailable(itemId) > 0;
+    }
+
+    // Integer.MAX_VALUE for items without a stock level
+    public int getAvailable(String itemId) {
+        AtomicLong level = stock.get(itemId);
+        return level == null ? Integer.MAX_VALUE : (int) available(level.get());
+    }
+
+    public int getReserved(String itemId) {
+        AtomicLong level = stock.get(itemId);
+        return level == null ? 0 : (int) reserved(level.get());
+    }
+
+    public int getOpenReservationCount() {
+        return reservations.size();
+    }
+
+    public List<String> getSoldOutItemIds() {
+        List<String> soldOut = new ArrayList<>();
+        for (Map.Entry<String, AtomicLong> level : stock.entrySet()) {
+            if (available(level.getValue().get()) == 0) {
+                soldOut.add(level.getKey());
+            }
+        }
+        return soldOut;
+    }
+
+    private boolean take(String itemId, AtomicLong level, int quantity) {
+        while (true) {
+            long current = level.get();
+            long available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            long next = pack(available - quantity, reserved(current) + quantity);
+            if (level.compareAndSet(current, next)) {
+                availabilityChanged(itemId, available, available - quantity);
+                return true;
+            }
+        }
+    }
+
+    // Removing the reservation first makes sure an order is settled once, whichever of
+    // COMPLETED and CANCELLED (or a repeat of either) arrives
+    private void settle(String orderId, boolean committed) {
+        List<Reservation> reserved = reservations.remove(orderId);
+        if (reserved == null) {
+            return;
+        }
+        for (Reservation reservation : reserved) {
+            giveBack(reservation, committed);
+        }
+    }
+
+    // Drops the reservation; the units return to available unless they were sold
+    private void giveBack(Reservation reservation, boolean sold) {
+        int quantity = reservation.quantity;
+        long after = reservation.level.addAndGet(sold ? -quantity : quantity * AVAILABLE_UNIT - quantity);
+        if (!sold && stock.get(reservation.itemId) == reservation.level) {
+            availabilityChanged(reservation.itemId, available(after) - quantity, available(after));
+        }
+    }
+
+    private void availabilityChanged(String itemId, long before, long after) {
+        if (listener != null && (before == 0) != (after == 0)) {
+            listener.onAvailabilityChanged(itemId, after > 0);
+        }
+    }
+
+    private static long pack(long available, long reserved) {
+        return available * AVAILABLE_UNIT + reserved;
+    }
+
+    private static long available(long packed) {
+        return packed >>> 32;
+    }
+
+    private static long reserved(long packed) {
+        return packed & RESERVED_MASK;
+    }
+}
@@ -0,0 +1,249 @@
+package services;
+
+import enums.BackpressurePolicy;
+import enums.KitchenPolicy;
+import enums.MenuCategory;
+import enums.OrderEventType;
+import enums.OrderStatus;
+import interfaces.IOrderProcessor;
+import logging.Logger;
+import metrics.LatencyHistogram;
+import models.CookBatch;
+import models.KitchenTicket;
+import models.Order;
+import models.OrderEvent;
+import models.OrderLine;
+import models.WorkUnit;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Turns confirmed orders into kitchen work and moves them through PREPARING and READY.
+// Each order line becomes a work unit at the station for its menu category; stations
+// decide what to cook next (see KitchenStation). The core methods take the current time
+// as a parameter so the same logic runs live or inside a discrete-event simulation.
+// Live, all kitchen state is confined to a single scheduler thread.
+public class KitchenScheduler {
+    private static final Logger logger = Logger.getLogger(KitchenScheduler.class);
+    public static final long DEFAULT_SLACK_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private IOrderProcessor orderProcessor; // null when simulating
+    private KitchenPolicy policy;
+    private long slackMillis; // Added to an order's own cook time to give its deadline
+    private Map<MenuCategory, KitchenStation> stations;
+    private Map<String, KitchenTicket> openTickets;
+    private long nextSequence;
+
+    // Live mode
+    private ScheduledExecutorService executor;
+    private double timeScale;
+    private OrderEventBus eventBus;
+    private OrderEventBus.Subscription subscription;
+
+    // Metrics, readable from any thread
+    private LatencyHistogram ticketTimes; // Arrival to READY, in nanoseconds
+    private LongAdder completedTickets;
+    private LongAdder lateTickets;
+    private LongAdder batchesCooked;
+    private LongAdder unitsCooked;
+
+    public KitchenScheduler(IOrderProcessor orderProcessor, KitchenPolicy policy, long slackMillis) {
+        this.orderProcessor = orderProcessor;
+        this.policy = policy;
+        this.slackMillis = slackMillis;
+        this.stations = new EnumMap<>(MenuCategory.class);
+        for (MenuCategory category : MenuCategory.values()) {
+            stations.put(category, KitchenStation.defaultFor(category, policy));
+        }
+        this.openTickets = new HashMap<>();
+        this.ticketTimes = new LatencyHistogram();
+        this.completedTickets = new LongAdder();
+        this.lateTickets = new LongAdder();
+        this.batchesCooked = new LongAdder();
+        this.unitsCooked = new LongAdder();
+    }
+
+    public void setStation(KitchenStation station) {
+        stations.put(station.getCategory(), station);
+    }
+
+    public KitchenTicket addTicket(Order order, long now) {
+        List<OrderLine> lines = new ArrayList<>(order.getOrderItems().getLines());
+        KitchenTicket ticket = new KitchenTicket(order, now, now + cookTimeMillis(lines) + slackMillis, lines.size());
+        if (lines.isEmpty()) {
+            return ticket;
+        }
+        openTickets.put(order.getOrderId(), ticket);
+        for (OrderLine line : lines) {
+            WorkUnit unit = new WorkUnit(ticket, line.getItem(), line.getQuantity(), nextSequence++);
+            stations.get(unit.getCategory()).enqueue(unit);
+        }
+        return ticket;
+    }
+
+    // How long the order takes with the kitchen to itself: its stations work in parallel, so a
+    // coffee is promised well before a table's worth of mains that arrived at the same time
+    private long cookTimeMillis(List<OrderLine> lines) {
+        Map<MenuCategory, Integer> units = new EnumMap<>(MenuCategory.class);
+        for (OrderLine line : lines) {
+            units.merge(line.getItem().getCategory(), line.getQuantity(), Integer::sum);
+        }
+        long longest = 0;
+        for (Map.Entry<MenuCategory, Integer> station : units.entrySet()) {
+            longest = Math.max(longest, stations.get(station.getKey()).cookTimeMillis(station.getValue()));
+        }
+        return longest;
+    }
+
+    // Starts as many batches as there are free cooks with work waiting
+    public List<CookBatch> dispatch(long now) {
+        List<CookBatch> started = new ArrayList<>();
+        for (KitchenStation station : stations.values()) {
+            CookBatch batch;
+            while ((batch = station.startNextBatch(now)) != null) {
+                started.add(batch);
+                for (WorkUnit unit : batch.getUnits()) {
+                    KitchenTicket ticket = unit.getTicket();
+                    if (!ticket.isStarted()) {
+                        ticket.markStarted(now);
+                        advance(ticket.getOrder(), OrderStatus.PREPARING, OrderStatus.PENDING);
+                    }
+                }
+            }
+        }
+        return started;
+    }
+
+    public void complete(CookBatch batch, long now) {
+        stations.get(batch.getStation()).finishBatch();
+        batchesCooked.increment();
+        unitsCooked.add(batch.getQuantity());
+
+        for (WorkUnit unit : batch.getUnits()) {
+            KitchenTicket ticket = unit.getTicket();
+            if (ticket.completeUnit(now) && !ticket.isCancelled()) {
+                openTickets.remove(ticket.getOrderId());
+                completedTickets.increment();
+                if (ticket.isLate()) {
+                    lateTickets.increment();
+                }
+                ticketTimes.record(TimeUnit.MILLISECONDS.toNanos(now - ticket.getArrivedAt()));
+                advance(ticket.getOrder(), OrderStatus.READY, OrderStatus.PENDING, OrderStatus.PREPARING);
+            }
+        }
+    }
+
+    // Remaining units are skipped when their station reaches them
+    public boolean cancel(String orderId) {
+        KitchenTicket ticket = openTickets.remove(orderId);
+        if (ticket == null) {
+            return false;
+        }
+        ticket.cancel();
+        return true;
+    }
+
+    // Leaves orders alone once staff have moved them on by hand
+    private void advance(Order order, OrderStatus next, OrderStatus... from) {
+        if (orderProcessor == null) {
+            return;
+        }
+        for (OrderStatus status : from) {
+            if (orderProcessor.updateOrderStatusIf(order.getOrderId(), status, next)) {
+                return;
+            }
+        }
+    }
+
+    // Follows confirmed and cancelled orders on the bus; cook times are divided by timeScale
+    public void start(OrderEventBus eventBus, double timeScale) {
+        if (executor != null) {
+            return;
+        }
+        this.timeScale = timeScale;
+        this.eventBus = eventBus;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kitchen-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A dropped CONFIRMED would leave the order PENDING for good, so a full queue holds up
+        // the publisher instead; the handler only hands work to the kitchen thread, so it never publishes
+        this.subscription = eventBus.subscribe("kitchen", EnumSet.of(OrderEventType.CONFIRMED, OrderEventType.CANCELLED),
+                4096, false, BackpressurePolicy.BLOCK, this::onOrderEvent);
+    }
+
+    private void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.CONFIRMED) {
+            submit(event.getOrder());
+        } else {
+            runOnKitchenThread(() -> cancel(event.getOrderId()));
+        }
+    }
+
+    public void submit(Order order) {
+        runOnKitchenThread(() -> {
+            addTicket(order, System.currentTimeMillis());
+            dispatchLive();
+        });
+    }
+
+    private void dispatchLive() {
+        for (CookBatch batch : dispatch(System.currentTimeMillis())) {
+            logger.debug(() -> "Kitchen started " + batch);
+            long delay = (long) ((batch.getFinishesAt() - batch.getStartedAt()) / timeScale);
+            try {
+                executor.schedule(() -> {
+                    complete(batch, System.currentTimeMillis());
+                    dispatchLive();
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return; // Shutting down
+            }
+        }
+    }
+
+    private void runOnKitchenThread(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Kitchen scheduler is stopped, ignoring work");
+        }
+    }
+
+    public void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        eventBus.unsubscribe(subscription);
+        executor.shutdownNow();
+    }
+
+    public String getSummary() {
+        long batches = batchesCooked.sum();
+        return String.format("Kitchen (%s): %d tickets ready, %d late, ticket time mean %.1f min p95 %.1f min, " +
+                        "%d batches, %.2f units/batch",
+                policy, completedTickets.sum(), lateTickets.sum(),
+                ticketTimes.getMeanMillis() / 60_000.0, ticketTimes.getPercentileMillis(95) / 60_000.0,
+                batches, batches == 0 ? 0.0 : unitsCooked.sum() / (double) batches);
+    }
+
+    // Getters
+    public KitchenPolicy getPolicy() { return policy; }
+    public KitchenStation getStation(MenuCategory category) { return stations.get(category); }
+    public LatencyHistogram getTicketTimes() { return ticketTimes; }
+    public long getCompletedTickets() { return completedTickets.sum(); }
+    public long getLateTickets() { return lateTickets.sum(); }
+    public long getBatchesCooked() { return batchesCooked.sum(); }
+    public long getUnitsCooked() { return unitsCooked.sum(); }
+    public int getOpenTicketCount() { return openTickets.size(); }
+}
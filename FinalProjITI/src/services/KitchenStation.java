@@ -0,0 +1,182 @@
+package services;
+
+import enums.KitchenPolicy;
+import enums.MenuCategory;
+import models.CookBatch;
+import models.MenuItem;
+import models.WorkUnit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+// One kitchen station per menu category with a simple cost model: every batch pays a
+// setup time, then a per-unit time. Under BATCHED_EDF waiting units are grouped by menu
+// item and the group holding the earliest deadline is cooked next; under FIFO each order
+// line is its own batch. Not thread-safe, KitchenScheduler confines it to one thread.
+public class KitchenStation {
+    private static final Comparator<WorkUnit> BY_DEADLINE =
+            Comparator.comparingLong(WorkUnit::getDeadline).thenComparingLong(WorkUnit::getSequence);
+
+    private MenuCategory category;
+    private KitchenPolicy policy;
+    private int cooks;
+    private long setupMillis;
+    private long perUnitMillis;
+    private int maxBatchSize;
+    private int busyCooks;
+    private int queuedUnits;
+
+    // BATCHED_EDF: one group per menu item, groups ordered by their most urgent unit
+    private Map<String, PendingItem> pendingByItem;
+    private PriorityQueue<PendingItem> groupsByDeadline;
+    // FIFO
+    private Deque<WorkUnit> arrivals;
+
+    private static class PendingItem {
+        private MenuItem item;
+        private PriorityQueue<WorkUnit> units;
+
+        PendingItem(MenuItem item) {
+            this.item = item;
+            this.units = new PriorityQueue<>(BY_DEADLINE);
+        }
+
+        WorkUnit mostUrgent() {
+            return units.peek();
+        }
+    }
+
+    public KitchenStation(MenuCategory category, KitchenPolicy policy, int cooks,
+                          long setupMillis, long perUnitMillis, int maxBatchSize) {
+        this.category = category;
+        this.policy = policy;
+        this.cooks = cooks;
+        this.setupMillis = setupMillis;
+        this.perUnitMillis = perUnitMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.pendingByItem = new HashMap<>();
+        this.groupsByDeadline = new PriorityQueue<>(
+                Comparator.comparing(PendingItem::mostUrgent, BY_DEADLINE));
+        this.arrivals = new ArrayDeque<>();
+    }
+
+    public static KitchenStation defaultFor(MenuCategory category, KitchenPolicy policy) {
+        switch (category) {
+            case MAIN_COURSE:
+                return new KitchenStation(category, policy, 3, seconds(120), seconds(60), 6);
+            case SNACK:
+                return new KitchenStation(category, policy, 1, seconds(150), seconds(10), 10);
+            case DRINK:
+                return new KitchenStation(category, policy, 1, seconds(30), seconds(20), 10);
+            default:
+                return new KitchenStation(category, policy, 1, seconds(60), seconds(15), 8);
+        }
+    }
+
+    private static long seconds(long value) {
+        return TimeUnit.SECONDS.toMillis(value);
+    }
+
+    public void enqueue(WorkUnit unit) {
+        queuedUnits++;
+        if (policy == KitchenPolicy.FIFO) {
+            arrivals.addLast(unit);
+            return;
+        }
+
+        PendingItem pending = pendingByItem.get(unit.getItem().getItemId());
+        if (pending == null) {
+            pending = new PendingItem(unit.getItem());
+            pending.units.add(unit);
+            pendingByItem.put(unit.getItem().getItemId(), pending);
+            groupsByDeadline.add(pending);
+        } else if (BY_DEADLINE.compare(unit, pending.mostUrgent()) < 0) {
+            // The group's priority is changing, so it has to be re-inserted
+            groupsByDeadline.remove(pending);
+            pending.units.add(unit);
+            groupsByDeadline.add(pending);
+        } else {
+            pending.units.add(unit);
+        }
+    }
+
+    // Starts the next batch if a cook is free; units of cancelled orders are discarded here
+    public CookBatch startNextBatch(long now) {
+        if (busyCooks >= cooks) {
+            return null;
+        }
+        List<WorkUnit> units = policy == KitchenPolicy.FIFO ? takeNextArrival() : takeMostUrgentGroup();
+        if (units.isEmpty()) {
+            return null;
+        }
+
+        busyCooks++;
+        int quantity = 0;
+        for (WorkUnit unit : units) {
+            quantity += unit.getQuantity();
+        }
+        return new CookBatch(category, units.get(0).getItem(), units, now, now + cookTimeMillis(quantity));
+    }
+
+    private List<WorkUnit> takeNextArrival() {
+        List<WorkUnit> units = new ArrayList<>(1);
+        while (!arrivals.isEmpty() && units.isEmpty()) {
+            WorkUnit unit = arrivals.pollFirst();
+            queuedUnits--;
+            if (!unit.getTicket().isCancelled()) {
+                units.add(unit);
+            }
+        }
+        return units;
+    }
+
+    private List<WorkUnit> takeMostUrgentGroup() {
+        List<WorkUnit> units = new ArrayList<>();
+        while (units.isEmpty() && !groupsByDeadline.isEmpty()) {
+            PendingItem pending = groupsByDeadline.poll();
+            int quantity = 0;
+            while (!pending.units.isEmpty()) {
+                WorkUnit unit = pending.units.peek();
+                if (!unit.getTicket().isCancelled()) {
+                    // A single line larger than the batch limit still goes through on its own
+                    if (quantity > 0 && quantity + unit.getQuantity() > maxBatchSize) {
+                        break;
+                    }
+                    units.add(unit);
+                    quantity += unit.getQuantity();
+                }
+                pending.units.poll();
+                queuedUnits--;
+            }
+
+            if (pending.units.isEmpty()) {
+                pendingByItem.remove(pending.item.getItemId());
+            } else {
+                groupsByDeadline.add(pending);
+            }
+        }
+        return units;
+    }
+
+    public void finishBatch() {
+        busyCooks--;
+    }
+
+    public long cookTimeMillis(int quantity) {
+        return setupMillis + perUnitMillis * quantity;
+    }
+
+    // Getters
+    public MenuCategory getCategory() { return category; }
+    public int getCooks() { return cooks; }
+    public int getBusyCooks() { return busyCooks; }
+    public int getQueuedUnits() { return queuedUnits; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+}
@@ -1,18 +1,22 @@
 package services;
 
+import logging.Logger;
 import models.Order;
 import models.Reward;
 import models.Student;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LoyaltyProgram {
-    private double pointsPerCurrency;
+    private static final Logger logger = Logger.getLogger(LoyaltyProgram.class);
+
+    private volatile double pointsPerCurrency; // Tunable while orders are being rewarded
     private Map<String, Reward> rewards;
+    private volatile OrderJournal journal; // Null when balances aren't journaled
 
     public LoyaltyProgram() {
         this.pointsPerCurrency = 0.1; // 1 point for every EGP 10 spent
-        this.rewards = new HashMap<>();
+        this.rewards = new ConcurrentHashMap<>();
         initializeDefaultRewards();
     }
 
@@ -25,30 +29,47 @@ public class LoyaltyProgram {
     public int calculatePoints(Order order) {
         double orderAmount = order.getOrderCalculator().calculateTotal();
         int points = (int) (orderAmount * pointsPerCurrency);
-        System.out.println("Awarding " + points + " points for order " + order.getOrderId());
+        logger.debug(() -> "Awarding " + points + " points for order " + order.getOrderId());
         return points;
     }
 
     public void awardPoints(Order order) {
         Student student = order.getStudent();
         int points = calculatePoints(order);
-        student.addPoints(points);
-        System.out.println("Awarded " + points + " points to student " + student.getName());
+        synchronized (student) {
+            student.addPoints(points);
+            journalBalance(student);
+        }
+        logger.info("Awarded " + points + " points to student " + student.getName());
     }
 
     public boolean redeemReward(Student student, String rewardId) {
         Reward reward = rewards.get(rewardId);
         if (reward == null) {
-            System.out.println("Reward not found: " + rewardId);
+            logger.warn("Reward not found: " + rewardId);
             return false;
         }
 
-        return reward.applyReward(student);
+        synchronized (student) {
+            boolean applied = reward.applyReward(student);
+            if (applied) {
+                journalBalance(student);
+            }
+            return applied;
+        }
+    }
+
+    // Called with the student's monitor held, so the journal sees balances in the order they changed
+    private void journalBalance(Student student) {
+        OrderJournal current = journal;
+        if (current != null) {
+            current.recordPointsBalance(student);
+        }
     }
 
     public void addReward(Reward reward) {
         rewards.put(reward.getRewardId(), reward);
-        System.out.println("Added new reward: " + reward.getName());
+        logger.info("Added new reward: " + reward.getName());
     }
 
     public void displayAvailableRewards() {
@@ -60,7 +81,15 @@ public class LoyaltyProgram {
     public Map<String, Reward> getRewards() { return rewards; }
     public double getPointsPerCurrency() { return pointsPerCurrency; }
 
+    public void setJournal(OrderJournal journal) {
+        this.journal = journal;
+    }
+
     public void setPointsPerCurrency(double pointsPerCurrency) {
+        if (!(pointsPerCurrency >= 0)) {
+            throw new IllegalArgumentException("Points per currency must not be negative: " + pointsPerCurrency);
+        }
         this.pointsPerCurrency = pointsPerCurrency;
+        logger.info("Points per currency set to " + pointsPerCurrency);
     }
 }
\ No newline at end of file
@@ -1,21 +1,71 @@
 package services;
 
 import interfaces.IMenuProvider;
+import interfaces.IStockListener;
+import logging.Logger;
+import models.AvailabilityWindow;
+import models.MenuChange;
 import models.MenuItem;
+import models.MenuSnapshot;
 import enums.MenuCategory;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-public class MenuManager implements IMenuProvider {
-    private Map<String, MenuItem> menuItemsMap; // Use Map to prevent duplicates by ID
-    private List<MenuItem> menuItemsList; // Maintain a list for ordered access
+// Writers are serialized on this manager and publish a new immutable MenuSnapshot after every
+// change (or once per applyMenuChanges batch); readers only load the current snapshot, so they
+// never lock or copy. Stock runs out and comes back through the Inventory, which tells this
+// manager only when an item crosses zero, so checkouts themselves never publish a snapshot.
+// Items and categories can be limited to availability windows (breakfast, late night...),
+// compiled into a MenuSchedule when they change, so the menu served at a given time is a lookup.
+public class MenuManager implements IMenuProvider, IStockListener {
+    private static final Logger logger = Logger.getLogger(MenuManager.class);
+
+    // Writer-side state. Insertion order is display order: replacing an item keeps its place,
+    // and adding, replacing or removing one is a single hash operation.
+    private LinkedHashMap<String, MenuItem> menuItems;
+    private EnumMap<MenuCategory, LinkedHashMap<String, MenuItem>> itemsByCategory;
+    private EnumMap<MenuCategory, List<MenuItem>> categoryIndex; // Read-only views over per-category arrays
+    private MenuSearchIndex searchIndex;
+    private Inventory inventory;
+    private Set<String> soldOut;
+    private Map<String, List<AvailabilityWindow>> itemWindows;
+    private EnumMap<MenuCategory, List<AvailabilityWindow>> categoryWindows;
+    private boolean windowsChanged; // The schedule's timetable needs compiling again
+
+    // What the change being applied touched, folded into the next publish()
+    private EnumSet<MenuCategory> changedCategories;
+    private Map<String, MenuItem> indexedBefore; // itemId -> item as last indexed, null if new
+    private Map<String, MenuItem> indexedAfter;  // itemId -> item to index now, null if removed
+
+    private volatile MenuSnapshot snapshot; // What readers see
+    private volatile MenuSchedule schedule; // Compiled from the same snapshot
 
     public MenuManager() {
-        this.menuItemsMap = new HashMap<>();
-        this.menuItemsList = new ArrayList<>();
+        this.menuItems = new LinkedHashMap<>();
+        this.itemsByCategory = new EnumMap<>(MenuCategory.class);
+        this.categoryIndex = new EnumMap<>(MenuCategory.class);
+        this.searchIndex = new MenuSearchIndex();
+        this.inventory = new Inventory(this);
+        this.soldOut = new HashSet<>();
+        this.itemWindows = new HashMap<>();
+        this.categoryWindows = new EnumMap<>(MenuCategory.class);
+        this.changedCategories = EnumSet.noneOf(MenuCategory.class);
+        this.indexedBefore = new HashMap<>();
+        this.indexedAfter = new HashMap<>();
+        this.snapshot = new MenuSnapshot(0, menuItems.values(), menuItems, categoryIndex, soldOut);
+        this.schedule = MenuSchedule.compile(snapshot, itemWindows, categoryWindows);
         initializeDefaultMenu();
     }
 
@@ -36,113 +86,347 @@ public class MenuManager implements IMenuProvider {
         addMenuItem(new MenuItem("DS2", "Ice Cream", "Vanilla ice cream", 3.99, MenuCategory.DESSERT));
     }
 
+    // Read-only, and stays as it was even if the menu changes afterwards
     @Override
     public List<MenuItem> getMenuItems() {
-        // Return a new list to prevent external modification
-        return new ArrayList<>(menuItemsList);
+        return snapshot.getItems();
     }
 
+    // What students can order right now: served at this time and not sold out
     @Override
-    public boolean addMenuItem(MenuItem item) {
-        if (item == null || item.getItemId() == null) {
-            System.out.println("Invalid menu item");
-            return false;
+    public List<MenuItem> getAvailableMenuItems() {
+        return getCurrentMenu().getAvailableItems();
+    }
+
+    @Override
+    public boolean isServedNow(String itemId) {
+        return getCurrentMenu().contains(itemId);
+    }
+
+    public boolean isSoldOut(String itemId) {
+        return snapshot.isSoldOut(itemId);
+    }
+
+    // Items and version read together, for callers that cache work per version
+    public MenuSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // The part of the menu served right now. The same instance is returned for as long as
+    // the same items are served, until the menu changes.
+    public MenuSnapshot getCurrentMenu() {
+        return schedule.at(LocalDateTime.now());
+    }
+
+    public MenuSnapshot getMenuAt(LocalDateTime time) {
+        return schedule.at(time);
+    }
+
+    public MenuSchedule getSchedule() {
+        return schedule;
+    }
+
+    // The item's own windows, used instead of its category's; null or empty goes back to the category's
+    public synchronized void setItemAvailability(String itemId, List<AvailabilityWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            itemWindows.remove(itemId);
+        } else {
+            itemWindows.put(itemId, List.copyOf(windows));
         }
+        windowsChanged = true;
+        publish();
+        logger.info("Menu item " + itemId + " served " + describe(windows));
+    }
 
-        if (menuItemsMap.containsKey(item.getItemId())) {
-            System.out.println("Menu item with ID " + item.getItemId() + " already exists");
-            return false;
+    // Null or empty serves the category at all times
+    public synchronized void setCategoryAvailability(MenuCategory category, List<AvailabilityWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            categoryWindows.remove(category);
+        } else {
+            categoryWindows.put(category, List.copyOf(windows));
         }
+        windowsChanged = true;
+        publish();
+        logger.info("Category " + category + " served " + describe(windows));
+    }
 
-        menuItemsMap.put(item.getItemId(), item);
-        menuItemsList.add(item);
-        System.out.println("Added new menu item: " + item.getName());
-        return true;
+    // Empty if the item has no windows of its own
+    public synchronized List<AvailabilityWindow> getItemAvailability(String itemId) {
+        return itemWindows.getOrDefault(itemId, List.of());
+    }
+
+    public synchronized List<AvailabilityWindow> getCategoryAvailability(MenuCategory category) {
+        return categoryWindows.getOrDefault(category, List.of());
+    }
+
+    private static String describe(List<AvailabilityWindow> windows) {
+        return windows == null || windows.isEmpty() ? "by default" : windows.toString();
     }
 
     @Override
-    public boolean updateMenuItem(String itemId, MenuItem newItem) {
-        if (!menuItemsMap.containsKey(itemId)) {
-            System.out.println("Menu item with ID " + itemId + " not found");
+    public synchronized boolean addMenuItem(MenuItem item) {
+        if (!add(item)) {
             return false;
         }
+        publish();
+        logger.info("Added new menu item: " + item.getName());
+        return true;
+    }
 
-        if (newItem == null) {
-            System.out.println("Invalid update data");
+    @Override
+    public synchronized boolean updateMenuItem(String itemId, MenuItem newItem) {
+        MenuItem updatedItem = update(itemId, newItem);
+        if (updatedItem == null) {
             return false;
         }
+        publish();
+        logger.info("Updated menu item: " + updatedItem.getName());
+        return true;
+    }
 
-        // Update both map and list
-        MenuItem existingItem = menuItemsMap.get(itemId);
-        existingItem.updateDetails(newItem.getName(), newItem.getDescription(), newItem.getPrice(), newItem.getCategory());
+    @Override
+    public synchronized boolean removeMenuItem(String itemId) {
+        MenuItem removedItem = remove(itemId);
+        if (removedItem == null) {
+            return false;
+        }
+        publish();
+        logger.info("Removed menu item: " + removedItem.getName());
+        return true;
+    }
 
-        // Also update the item in the list
-        for (int i = 0; i < menuItemsList.size(); i++) {
-            if (menuItemsList.get(i).getItemId().equals(itemId)) {
-                menuItemsList.set(i, existingItem);
-                break;
+    // Applies the changes in order and publishes one snapshot at the end, so readers go straight
+    // from the old menu to the new one. Invalid changes are skipped with a warning, as the
+    // single-item methods would; returns how many were applied.
+    public synchronized int applyMenuChanges(List<MenuChange> changes) {
+        int applied = 0;
+        for (MenuChange change : changes) {
+            if (change == null) {
+                logger.warn("Invalid menu change");
+                continue;
+            }
+            boolean done;
+            switch (change.getType()) {
+                case ADD:
+                    done = add(change.getItem());
+                    break;
+                case UPDATE:
+                    done = update(change.getItemId(), change.getItem()) != null;
+                    break;
+                default:
+                    done = remove(change.getItemId()) != null;
+            }
+            if (done) {
+                applied++;
             }
         }
-
-        System.out.println("Updated menu item: " + existingItem.getName());
-        return true;
+        if (applied > 0) {
+            publish();
+        }
+        logger.info("Applied " + applied + " of " + changes.size() + " menu changes");
+        return applied;
     }
 
-    @Override
-    public boolean removeMenuItem(String itemId) {
-        if (!menuItemsMap.containsKey(itemId)) {
-            System.out.println("Menu item with ID " + itemId + " not found");
+    private boolean add(MenuItem item) {
+        if (item == null || item.getItemId() == null) {
+            logger.warn("Invalid menu item");
             return false;
         }
 
-        // Remove from both map and list
-        MenuItem removedItem = menuItemsMap.remove(itemId);
-        menuItemsList.removeIf(item -> item.getItemId().equals(itemId));
+        if (menuItems.containsKey(item.getItemId())) {
+            logger.warn("Menu item with ID " + item.getItemId() + " already exists");
+            return false;
+        }
 
-        System.out.println("Removed menu item: " + removedItem.getName());
+        menuItems.put(item.getItemId(), item);
+        categoryItems(item.getCategory()).put(item.getItemId(), item);
+        changed(item.getItemId(), null, item);
         return true;
     }
 
+    private MenuItem update(String itemId, MenuItem newItem) {
+        MenuItem existingItem = itemId == null ? null : menuItems.get(itemId);
+        if (existingItem == null) {
+            logger.warn("Menu item with ID " + itemId + " not found");
+            return null;
+        }
+
+        if (newItem == null) {
+            logger.warn("Invalid update data");
+            return null;
+        }
+
+        // Update a copy so items in already published snapshots keep their details
+        MenuItem updatedItem = new MenuItem(itemId, existingItem.getName(), existingItem.getDescription(),
+                existingItem.getPrice(), existingItem.getCategory());
+        updatedItem.updateDetails(newItem.getName(), newItem.getDescription(), newItem.getPrice(), newItem.getCategory());
+
+        menuItems.put(itemId, updatedItem);
+        // An item moved to another category goes to the end of that category
+        if (updatedItem.getCategory() != existingItem.getCategory()) {
+            categoryItems(existingItem.getCategory()).remove(itemId);
+        }
+        categoryItems(updatedItem.getCategory()).put(itemId, updatedItem);
+        changed(itemId, existingItem, updatedItem);
+        return updatedItem;
+    }
+
+    private MenuItem remove(String itemId) {
+        MenuItem removedItem = itemId == null ? null : menuItems.remove(itemId);
+        if (removedItem == null) {
+            logger.warn("Menu item with ID " + itemId + " not found");
+            return null;
+        }
+
+        categoryItems(removedItem.getCategory()).remove(itemId);
+        changed(itemId, removedItem, null);
+        return removedItem;
+    }
+
     public void displayMenu() {
         System.out.println("\n=== Cafeteria Menu ===");
 
+        MenuSnapshot menu = snapshot;
+        MenuSnapshot servedNow = getCurrentMenu();
         for (MenuCategory category : MenuCategory.values()) {
             System.out.println("\n--- " + category + " ---");
-            menuItemsList.stream()
-                    .filter(item -> item.getCategory() == category)
-                    .forEach(item -> System.out.println(item.getItemId() + ": " + item.getName() + " - $" + item.getPrice()));
+            menu.getItems(category)
+                    .forEach(item -> System.out.println(item.getItemId() + ": " + item.getName() + " - $" + item.getPrice()
+                            + (menu.isSoldOut(item.getItemId()) ? " (sold out)" : "")
+                            + (servedNow.contains(item.getItemId()) ? "" : " (not served now)")));
         }
     }
 
     public MenuItem getMenuItemById(String itemId) {
-        return menuItemsMap.get(itemId);
+        return snapshot.getItem(itemId);
     }
 
-    // Additional method to get items by category
+    // Additional method to get items by category; read-only, in menu order
     public List<MenuItem> getMenuItemsByCategory(MenuCategory category) {
-        List<MenuItem> result = new ArrayList<>();
-        for (MenuItem item : menuItemsList) {
-            if (item.getCategory() == category) {
-                result.add(item);
+        return snapshot.getItems(category);
+    }
+
+    // Matches words of item names and descriptions, tolerating typos ("chiken sandwch"); best first
+    public List<MenuItem> searchMenu(String query, int limit) {
+        MenuSnapshot menu = snapshot;
+        List<MenuItem> results = new ArrayList<>();
+        for (String itemId : searchIndex.search(query, limit)) {
+            MenuItem item = menu.getItem(itemId);
+            if (item != null) { // Indexed ahead of a change that isn't published yet
+                results.add(item);
             }
         }
-        return result;
+        return results;
+    }
+
+    // Menu words starting with what has been typed so far, for autocomplete
+    public List<String> completeSearchWord(String prefix, int limit) {
+        return searchIndex.complete(prefix, limit);
     }
 
     // Method to check if menu item exists
     public boolean containsMenuItem(String itemId) {
-        return menuItemsMap.containsKey(itemId);
+        return snapshot.contains(itemId);
     }
 
     // Method to get total number of menu items
     public int getMenuSize() {
-        return menuItemsList.size();
+        return snapshot.size();
+    }
+
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    // Re-reads the current level rather than trusting the event, so two crossings reported
+    // out of order still leave the flag matching the stock
+    @Override
+    public synchronized void onAvailabilityChanged(String itemId, boolean inStock) {
+        boolean changed = inventory.isInStock(itemId) ? soldOut.remove(itemId) : soldOut.add(itemId);
+        if (changed) {
+            publish();
+            logger.info("Menu item " + itemId + (soldOut.contains(itemId) ? " sold out" : " back in stock"));
+        }
     }
 
     // Method to clear all menu items
-    public void clearMenu() {
-        menuItemsMap.clear();
-        menuItemsList.clear();
-        System.out.println("Menu cleared");
+    public synchronized void clearMenu() {
+        menuItems.clear();
+        itemsByCategory.clear();
+        categoryIndex.clear();
+        searchIndex.clear();
+        changedCategories.clear();
+        indexedBefore.clear();
+        indexedAfter.clear();
+        publish();
+        logger.info("Menu cleared");
+    }
+
+    // Items without a category are listed and searchable but not in any category view
+    private Map<String, MenuItem> categoryItems(MenuCategory category) {
+        if (category == null) {
+            return new HashMap<>();
+        }
+        changedCategories.add(category);
+        return itemsByCategory.computeIfAbsent(category, c -> new LinkedHashMap<>());
+    }
+
+    // Records an item change for the search index; across a batch only the first "before"
+    // and the last "after" of each item matter
+    private void changed(String itemId, MenuItem before, MenuItem after) {
+        if (!indexedBefore.containsKey(itemId)) {
+            indexedBefore.put(itemId, before);
+        }
+        indexedAfter.put(itemId, after);
+    }
+
+    // Called with the lock held after every change or batch: rebuilds the arrays of the
+    // categories that changed (others are shared with the previous snapshot), brings the
+    // search index up to date, and publishes the new snapshot. The schedule keeps its
+    // timetable unless the windows changed, and builds its menus from the new snapshot.
+    private void publish() {
+        for (MenuCategory category : changedCategories) {
+            Map<String, MenuItem> items = itemsByCategory.get(category);
+            if (items == null || items.isEmpty()) {
+                itemsByCategory.remove(category);
+                categoryIndex.remove(category);
+            } else {
+                categoryIndex.put(category, Collections.unmodifiableList(
+                        Arrays.asList(items.values().toArray(new MenuItem[0]))));
+            }
+        }
+        changedCategories.clear();
+
+        List<MenuItem> unindexed = new ArrayList<>();
+        List<MenuItem> indexed = new ArrayList<>();
+        for (Map.Entry<String, MenuItem> change : indexedAfter.entrySet()) {
+            MenuItem before = indexedBefore.get(change.getKey());
+            MenuItem after = change.getValue();
+            if (before != null && after != null && Objects.equals(before.getName(), after.getName())
+                    && Objects.equals(before.getDescription(), after.getDescription())) {
+                continue; // Price or category only: the indexed words are the same
+            }
+            if (before != null) {
+                unindexed.add(before);
+            }
+            if (after != null) {
+                indexed.add(after);
+            }
+        }
+        if (!unindexed.isEmpty() || !indexed.isEmpty()) {
+            searchIndex.update(unindexed, indexed);
+        }
+        indexedBefore.clear();
+        indexedAfter.clear();
+
+        MenuSnapshot next = new MenuSnapshot(snapshot.getVersion() + 1, menuItems.values(), menuItems, categoryIndex, soldOut);
+        schedule = windowsChanged ? MenuSchedule.compile(next, itemWindows, categoryWindows) : schedule.withMenu(next);
+        windowsChanged = false;
+        snapshot = next;
     }
 }
\ No newline at end of file
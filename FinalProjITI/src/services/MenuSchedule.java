@@ -0,0 +1,143 @@
+package services;
+
+import enums.MenuCategory;
+import models.AvailabilityWindow;
+import models.MenuItem;
+import models.MenuSnapshot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// A week of menus worked out ahead of time from the availability windows. The week is split
+// into minutes, and each minute points at one of the few distinct menus (breakfast, lunch,
+// late night...), so finding what is served at a moment is an array index; the windows are
+// only evaluated when they change. Each distinct menu is one read-only MenuSnapshot, built
+// once per published menu the first time it is served and shared by all its minutes.
+public class MenuSchedule {
+    private MenuSnapshot menu; // Everything, whatever the time
+    private List<List<AvailabilityWindow>> rules; // Rule number -> windows
+    private Map<String, Integer> itemRules; // itemId -> rule number, for items with windows of their own
+    private EnumMap<MenuCategory, Integer> categoryRules;
+    private int[] slotMenus; // Minute of the week (from Monday 00:00) -> menu number; null if nothing is restricted
+    private BitSet[] openRules; // Menu number -> rules open during it
+    private AtomicReferenceArray<MenuSnapshot> menus; // Menu number -> what is served, once built
+
+    private MenuSchedule(MenuSnapshot menu, List<List<AvailabilityWindow>> rules, Map<String, Integer> itemRules,
+                         EnumMap<MenuCategory, Integer> categoryRules, int[] slotMenus, BitSet[] openRules) {
+        this.menu = menu;
+        this.rules = rules;
+        this.itemRules = itemRules;
+        this.categoryRules = categoryRules;
+        this.slotMenus = slotMenus;
+        this.openRules = openRules;
+        this.menus = new AtomicReferenceArray<>(openRules.length);
+    }
+
+    // An item's own windows replace its category's; items with neither are always served
+    public static MenuSchedule compile(MenuSnapshot menu, Map<String, List<AvailabilityWindow>> itemWindows,
+                                       Map<MenuCategory, List<AvailabilityWindow>> categoryWindows) {
+        List<List<AvailabilityWindow>> rules = new ArrayList<>();
+        Map<String, Integer> itemRules = new HashMap<>();
+        EnumMap<MenuCategory, Integer> categoryRules = new EnumMap<>(MenuCategory.class);
+        for (Map.Entry<String, List<AvailabilityWindow>> item : itemWindows.entrySet()) {
+            itemRules.put(item.getKey(), rules.size());
+            rules.add(item.getValue());
+        }
+        for (Map.Entry<MenuCategory, List<AvailabilityWindow>> category : categoryWindows.entrySet()) {
+            categoryRules.put(category.getKey(), rules.size());
+            rules.add(category.getValue());
+        }
+        if (rules.isEmpty()) {
+            return new MenuSchedule(menu, rules, itemRules, categoryRules, null, new BitSet[1]);
+        }
+
+        // Between two consecutive boundaries every rule stays open or closed throughout
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (List<AvailabilityWindow> rule : rules) {
+            for (AvailabilityWindow window : rule) {
+                boundaries.addAll(window.getBoundaries());
+            }
+        }
+
+        int[] slotMenus = new int[AvailabilityWindow.MINUTES_PER_WEEK];
+        Map<BitSet, Integer> menuNumbers = new HashMap<>();
+        List<BitSet> openRules = new ArrayList<>();
+        Integer from = boundaries.first();
+        while (from != null) {
+            Integer next = boundaries.higher(from);
+            int to = next == null ? slotMenus.length : next;
+
+            BitSet open = new BitSet(rules.size());
+            for (int rule = 0; rule < rules.size(); rule++) {
+                for (AvailabilityWindow window : rules.get(rule)) {
+                    if (window.covers(from)) {
+                        open.set(rule);
+                        break;
+                    }
+                }
+            }
+            Integer number = menuNumbers.get(open);
+            if (number == null) {
+                number = openRules.size();
+                menuNumbers.put(open, number);
+                openRules.add(open);
+            }
+            Arrays.fill(slotMenus, from, to, number);
+            from = next;
+        }
+        return new MenuSchedule(menu, rules, itemRules, categoryRules, slotMenus, openRules.toArray(new BitSet[0]));
+    }
+
+    // The same windows over a newer menu: the timetable is kept and the menus are built afresh
+    public MenuSchedule withMenu(MenuSnapshot menu) {
+        return new MenuSchedule(menu, rules, itemRules, categoryRules, slotMenus, openRules);
+    }
+
+    public MenuSnapshot at(LocalDateTime time) {
+        return at(time.getDayOfWeek(), time.toLocalTime());
+    }
+
+    public MenuSnapshot at(DayOfWeek day, LocalTime time) {
+        if (slotMenus == null) {
+            return menu;
+        }
+        int number = slotMenus[day.ordinal() * AvailabilityWindow.MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute()];
+        MenuSnapshot served = menus.get(number);
+        if (served == null) {
+            served = build(openRules[number]);
+            // Whoever gets there first wins, so every caller holds the same instance
+            if (!menus.compareAndSet(number, null, served)) {
+                served = menus.get(number);
+            }
+        }
+        return served;
+    }
+
+    private MenuSnapshot build(BitSet open) {
+        if (open.cardinality() == rules.size()) {
+            return menu;
+        }
+        return menu.filter(item -> {
+            Integer rule = itemRules.get(item.getItemId());
+            if (rule == null && item.getCategory() != null) {
+                rule = categoryRules.get(item.getCategory());
+            }
+            return rule == null || open.get(rule);
+        });
+    }
+
+    // Getters
+    public MenuSnapshot getMenu() { return menu; }
+    public int getMenuCount() { return openRules.length; }
+}
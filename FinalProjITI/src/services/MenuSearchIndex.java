@@ -0,0 +1,423 @@
+package services;
+
+import models.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Word index over menu item names and descriptions. An inverted index maps each word to the
+// items containing it; a trie over the same words serves prefix completion and typo-tolerant
+// lookup (edit distance computed one trie level at a time, pruning branches that are already
+// too far off). Changes come from one writer at a time (MenuManager's lock); searches may run
+// concurrently with them and see each item either before or after its change.
+public class MenuSearchIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_SCORE = 0.75;   // Relative to an exact word match
+    private static final double FUZZY_SCORE = 0.5;     // Per edit, relative to an exact word match
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static class TrieNode {
+        private Map<Character, TrieNode> children = new ConcurrentHashMap<>(4);
+        private volatile String word; // Set while some item contains the word ending here
+    }
+
+    // Items containing one word, as document numbers with the weight of the field the word is in.
+    // Replaced rather than modified, so a search can walk the arrays while the menu changes.
+    private static class Postings {
+        private int[] documents;
+        private byte[] weights;
+
+        Postings(int[] documents, byte[] weights) {
+            this.documents = documents;
+            this.weights = weights;
+        }
+    }
+
+    private static class PostingsBuilder {
+        private int[] documents = new int[8];
+        private byte[] weights = new byte[8];
+        private int size;
+
+        void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size++] = (byte) weight;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(documents, size), Arrays.copyOf(weights, size));
+        }
+    }
+
+    // A dictionary word that matched one word of the query
+    private static class WordMatch {
+        private String word;
+        private double score;
+
+        WordMatch(String word, double score) {
+            this.word = word;
+            this.score = score;
+        }
+    }
+
+    private Map<String, Postings> postings;
+    private TrieNode root;
+    private Map<String, Integer> documentNumbers; // itemId -> document number (writers only)
+    private volatile String[] itemIds; // document number -> itemId, null once removed
+
+    public MenuSearchIndex() {
+        this.postings = new ConcurrentHashMap<>();
+        this.root = new TrieNode();
+        this.documentNumbers = new HashMap<>();
+        this.itemIds = new String[64];
+    }
+
+    public void add(MenuItem item) {
+        update(List.of(), List.of(item));
+    }
+
+    // Takes the item as it was indexed, so an update is remove(old) then add(new)
+    public void remove(MenuItem item) {
+        update(List.of(item), List.of());
+    }
+
+    // Removes the first items (as they were indexed) and adds the second, rebuilding each
+    // affected word's postings once however many of the items contain it
+    public void update(List<MenuItem> removed, List<MenuItem> added) {
+        Map<String, Set<Integer>> removals = new HashMap<>();
+        for (MenuItem item : removed) {
+            Integer document = documentNumbers.get(item.getItemId());
+            if (document == null) {
+                continue;
+            }
+            itemIds[document] = null;
+            for (String word : wordsOf(item).keySet()) {
+                removals.computeIfAbsent(word, w -> new HashSet<>()).add(document);
+            }
+        }
+        Map<String, PostingsBuilder> additions = new HashMap<>();
+        int[] addedDocuments = new int[added.size()];
+        for (int i = 0; i < added.size(); i++) {
+            MenuItem item = added.get(i);
+            addedDocuments[i] = documentNumber(item.getItemId());
+            for (Map.Entry<String, Integer> word : wordsOf(item).entrySet()) {
+                additions.computeIfAbsent(word.getKey(), w -> new PostingsBuilder())
+                        .add(addedDocuments[i], word.getValue());
+            }
+        }
+
+        Set<String> words = new HashSet<>(removals.keySet());
+        words.addAll(additions.keySet());
+        for (String word : words) {
+            Postings current = postings.get(word);
+            Set<Integer> gone = removals.getOrDefault(word, Set.of());
+            PostingsBuilder rebuilt = new PostingsBuilder();
+            if (current != null) {
+                for (int k = 0; k < current.documents.length; k++) {
+                    if (!gone.contains(current.documents[k])) {
+                        rebuilt.add(current.documents[k], current.weights[k]);
+                    }
+                }
+            }
+            PostingsBuilder fresh = additions.get(word);
+            if (fresh != null) {
+                for (int k = 0; k < fresh.size; k++) {
+                    rebuilt.add(fresh.documents[k], fresh.weights[k]);
+                }
+            }
+            if (rebuilt.size == 0) {
+                if (current != null) {
+                    postings.remove(word);
+                    removeWord(word);
+                }
+            } else {
+                postings.put(word, rebuilt.build());
+                if (current == null) {
+                    insertWord(word);
+                }
+            }
+        }
+        for (int i = 0; i < added.size(); i++) {
+            itemIds[addedDocuments[i]] = added.get(i).getItemId();
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        root.children.clear();
+        documentNumbers.clear();
+        itemIds = new String[64];
+    }
+
+    // Item ids ranked by how many query words they match, then by match quality. The last query
+    // word also matches as a prefix while it is still being typed (no trailing space).
+    public List<String> search(String query, int limit) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        boolean lastIsPrefix = Character.isLetterOrDigit(query.charAt(query.length() - 1));
+
+        // Scores accumulate in arrays indexed by document number; no per-item objects
+        String[] ids = itemIds;
+        double[] best = new double[ids.length];   // This query word's best score per document
+        double[] score = new double[ids.length];  // Sum over query words
+        int[] matchedWords = new int[ids.length];
+        int[] candidates = new int[64];
+        int candidateCount = 0;
+        int[] touched = new int[64];
+
+        for (int i = 0; i < queryWords.size(); i++) {
+            int touchedCount = 0;
+            for (WordMatch match : matches(queryWords.get(i), lastIsPrefix && i == queryWords.size() - 1)) {
+                Postings items = postings.get(match.word);
+                if (items == null) {
+                    continue;
+                }
+                for (int k = 0; k < items.documents.length; k++) {
+                    int document = items.documents[k];
+                    if (document >= ids.length) {
+                        continue; // Added after this search started
+                    }
+                    double value = match.score * items.weights[k];
+                    if (best[document] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = document;
+                    }
+                    if (value > best[document]) {
+                        best[document] = value;
+                    }
+                }
+            }
+            // A query word counts once per item, at its best match
+            for (int k = 0; k < touchedCount; k++) {
+                int document = touched[k];
+                if (matchedWords[document]++ == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = document;
+                }
+                score[document] += best[document];
+                best[document] = 0;
+            }
+        }
+
+        // Keep the best `limit` hits with a min-heap rather than sorting every candidate
+        Comparator<Integer> ranking = Comparator.<Integer>comparingInt(d -> matchedWords[d])
+                .thenComparingDouble(d -> score[d])
+                .thenComparing(d -> -d); // Earlier-added items first among equals
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking);
+        for (int k = 0; k < candidateCount; k++) {
+            int document = candidates[k];
+            if (top.size() < limit) {
+                top.add(document);
+            } else if (ranking.compare(document, top.peek()) > 0) {
+                top.poll();
+                top.add(document);
+            }
+        }
+        String[] result = new String[top.size()];
+        for (int k = result.length - 1; k >= 0; k--) {
+            result[k] = ids[top.poll()];
+        }
+        List<String> ranked = new ArrayList<>(result.length);
+        for (String itemId : result) {
+            if (itemId != null) { // Removed since
+                ranked.add(itemId);
+            }
+        }
+        return ranked;
+    }
+
+    // Indexed words starting with the prefix, most widely used first
+    public List<String> complete(String prefix, int limit) {
+        List<String> words = new ArrayList<>();
+        TrieNode node = find(prefix.toLowerCase(Locale.ROOT));
+        if (node != null && limit > 0) {
+            collect(node, words, Integer.MAX_VALUE);
+        }
+        words.sort(Comparator.comparingInt(this::frequency).reversed().thenComparing(Comparator.naturalOrder()));
+        return words.size() > limit ? new ArrayList<>(words.subList(0, Math.max(0, limit))) : words;
+    }
+
+    public int getWordCount() {
+        return postings.size();
+    }
+
+    private List<WordMatch> matches(String queryWord, boolean prefix) {
+        List<WordMatch> matches = new ArrayList<>();
+        if (postings.containsKey(queryWord)) {
+            matches.add(new WordMatch(queryWord, 1.0));
+        }
+        if (prefix) {
+            TrieNode node = find(queryWord);
+            if (node != null) {
+                List<String> completions = new ArrayList<>();
+                collect(node, completions, MAX_PREFIX_EXPANSIONS);
+                for (String word : completions) {
+                    if (!word.equals(queryWord)) {
+                        matches.add(new WordMatch(word, PREFIX_SCORE));
+                    }
+                }
+            }
+        }
+        int maxEdits = maxEdits(queryWord);
+        if (maxEdits > 0) {
+            int[] firstRow = new int[queryWord.length() + 1];
+            for (int j = 0; j < firstRow.length; j++) {
+                firstRow[j] = j;
+            }
+            for (Map.Entry<Character, TrieNode> child : root.children.entrySet()) {
+                fuzzy(child.getValue(), child.getKey(), (char) 0, queryWord, null, firstRow, maxEdits, matches);
+            }
+        }
+        return matches;
+    }
+
+    // Longer words tolerate more typos; very short ones must be exact
+    private static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    // Item ids keep their number for the life of the index, so an update (remove then add)
+    // lands back in the same slot and a search in between never credits a different item
+    private int documentNumber(String itemId) {
+        Integer existing = documentNumbers.get(itemId);
+        if (existing != null) {
+            return existing;
+        }
+        int document = documentNumbers.size();
+        documentNumbers.put(itemId, document);
+        if (document == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, document * 2);
+        }
+        return document;
+    }
+
+    // One row of the edit-distance table per trie level: row[j] is the distance between the
+    // word spelled down to this node and the first j characters of the target. Adjacent
+    // transpositions count as one edit ("chikcen"), hence the extra row.
+    private void fuzzy(TrieNode node, char letter, char previousLetter, String target,
+                       int[] rowBeforePrevious, int[] previousRow, int maxEdits, List<WordMatch> matches) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int rowMinimum = row[0];
+        for (int j = 1; j < row.length; j++) {
+            char expected = target.charAt(j - 1);
+            int distance = Math.min(Math.min(row[j - 1] + 1, previousRow[j] + 1),
+                    previousRow[j - 1] + (expected == letter ? 0 : 1));
+            if (rowBeforePrevious != null && j > 1 && expected == previousLetter
+                    && target.charAt(j - 2) == letter) {
+                distance = Math.min(distance, rowBeforePrevious[j - 2] + 1);
+            }
+            row[j] = distance;
+            rowMinimum = Math.min(rowMinimum, distance);
+        }
+
+        int distance = row[row.length - 1];
+        String word = node.word;
+        if (word != null && distance > 0 && distance <= maxEdits) {
+            matches.add(new WordMatch(word, FUZZY_SCORE / distance));
+        }
+        if (rowMinimum <= maxEdits) {
+            for (Map.Entry<Character, TrieNode> child : node.children.entrySet()) {
+                fuzzy(child.getValue(), child.getKey(), letter, target, previousRow, row, maxEdits, matches);
+            }
+        }
+    }
+
+    private TrieNode find(String prefix) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private void collect(TrieNode node, List<String> words, int limit) {
+        if (words.size() >= limit) {
+            return;
+        }
+        String word = node.word;
+        if (word != null) {
+            words.add(word);
+        }
+        for (TrieNode child : node.children.values()) {
+            collect(child, words, limit);
+        }
+    }
+
+    private int frequency(String word) {
+        Postings items = postings.get(word);
+        return items == null ? 0 : items.documents.length;
+    }
+
+    private void insertWord(String word) {
+        TrieNode node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+        }
+        node.word = word;
+    }
+
+    // Leaves the path in place: words tend to come back with the next menu change
+    private void removeWord(String word) {
+        TrieNode node = find(word);
+        if (node != null) {
+            node.word = null;
+        }
+    }
+
+    // Name words outweigh description words; a word in both counts as a name word
+    private static Map<String, Integer> wordsOf(MenuItem item) {
+        Map<String, Integer> words = new HashMap<>();
+        if (item.getDescription() != null) {
+            for (String word : tokenize(item.getDescription())) {
+                words.put(word, DESCRIPTION_WEIGHT);
+            }
+        }
+        if (item.getName() != null) {
+            for (String word : tokenize(item.getName())) {
+                words.put(word, NAME_WEIGHT);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
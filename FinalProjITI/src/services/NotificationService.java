@@ -1,10 +1,13 @@
 package services;
 
+import logging.Logger;
 import models.User;
 
 public class NotificationService {
+    private static final Logger logger = Logger.getLogger(NotificationService.class);
+
     public boolean sendNotification(User user, String message) {
-        System.out.println("Notification to " + user.getUsername() + ": " + message);
+        logger.info("Notification to " + user.getUsername() + ": " + message);
         return true;
     }
 }
\ No newline at end of file
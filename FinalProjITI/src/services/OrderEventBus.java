@@ -0,0 +1,282 @@
+package services;
+
+import enums.BackpressurePolicy;
+import enums.OrderEventType;
+import enums.OrderStatus;
+import interfaces.IOrderEventListener;
+import interfaces.IOrderStatusListener;
+import logging.Logger;
+import models.Order;
+import models.OrderEvent;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process publish/subscribe for order lifecycle events.
+// Each subscriber has its own bounded queue, drained on a pooled thread, so a slow subscriber
+// only delays itself. What happens when that queue is full is the subscriber's choice: drop
+// the event (the default, publishing never blocks), deliver it on the publishing thread, or
+// make the publisher wait for room. Subscribers that only care about the latest state can ask
+// for coalescing: a status event for an order that is still queued replaces the queued one
+// instead of taking another slot.
+public class OrderEventBus implements IOrderStatusListener {
+    private static final Logger logger = Logger.getLogger(OrderEventBus.class);
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private List<Subscription> subscriptions;
+    private ExecutorService executor;
+    private volatile boolean suppressed;
+    private LongAdder published;
+
+    public static class Subscription {
+        private String name;
+        private Set<OrderEventType> types;
+        private int capacity;
+        private boolean coalescing;
+        private BackpressurePolicy policy; // When the queue is full
+        private IOrderEventListener listener;
+        private ExecutorService executor;
+        private Map<Object, OrderEvent> pending; // Guarded by this; keyed by order ID when coalescing
+        private AtomicBoolean scheduled;
+        private volatile boolean active;
+
+        // Metrics
+        private LongAdder delivered;
+        private LongAdder coalesced;
+        private LongAdder dropped;
+        private LongAdder failed;
+
+        Subscription(String name, Set<OrderEventType> types, int capacity, boolean coalescing,
+                     BackpressurePolicy policy, IOrderEventListener listener, ExecutorService executor) {
+            this.name = name;
+            this.types = EnumSet.copyOf(types);
+            this.capacity = capacity;
+            this.coalescing = coalescing;
+            this.policy = policy;
+            this.listener = listener;
+            this.executor = executor;
+            this.pending = new LinkedHashMap<>();
+            this.scheduled = new AtomicBoolean();
+            this.active = true;
+            this.delivered = new LongAdder();
+            this.coalesced = new LongAdder();
+            this.dropped = new LongAdder();
+            this.failed = new LongAdder();
+        }
+
+        boolean accepts(OrderEvent event) {
+            return active && types.contains(event.getType());
+        }
+
+        void enqueue(OrderEvent event) {
+            boolean statusEvent = event.getType() == OrderEventType.STATUS_CHANGED ||
+                    event.getType() == OrderEventType.CANCELLED;
+            boolean runHere = false;
+            synchronized (this) {
+                if (coalescing && statusEvent) {
+                    OrderEvent queued = pending.get(event.getOrderId());
+                    if (queued != null) {
+                        // Keeps the queued event's place in line
+                        pending.put(event.getOrderId(), queued.coalesce(event));
+                        coalesced.increment();
+                        return;
+                    }
+                }
+                // Only the drain makes room, so a BLOCK subscriber must not publish events it receives
+                while (policy == BackpressurePolicy.BLOCK && active && pending.size() >= capacity) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                if (!active) {
+                    return;
+                }
+                if (pending.size() < capacity) {
+                    pending.put(coalescing && statusEvent ? event.getOrderId() : new Object(), event);
+                } else if (policy == BackpressurePolicy.CALLER_RUNS) {
+                    runHere = true;
+                } else {
+                    dropped.increment();
+                    return;
+                }
+            }
+            if (runHere) {
+                // Overtakes what is already queued, so only for subscribers that don't rely on order
+                deliver(event);
+            } else {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (active && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false); // Bus is shutting down
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                OrderEvent event;
+                synchronized (this) {
+                    Iterator<OrderEvent> next = pending.values().iterator();
+                    if (!active || !next.hasNext()) {
+                        // Cleared under the lock, so a concurrent enqueue will schedule again
+                        scheduled.set(false);
+                        return;
+                    }
+                    event = next.next();
+                    next.remove();
+                    if (policy == BackpressurePolicy.BLOCK) {
+                        notifyAll(); // Room for a waiting publisher
+                    }
+                }
+                deliver(event);
+            }
+        }
+
+        private void deliver(OrderEvent event) {
+            try {
+                listener.onOrderEvent(event);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.error("Order event subscriber " + name + " failed on " + event, e);
+            }
+        }
+
+        synchronized void cancel() {
+            active = false;
+            pending.clear();
+            notifyAll();
+        }
+
+        public synchronized int getPendingCount() {
+            return pending.size();
+        }
+
+        // Getters
+        public String getName() { return name; }
+        public boolean isCoalescing() { return coalescing; }
+        public BackpressurePolicy getPolicy() { return policy; }
+        public long getDeliveredCount() { return delivered.sum(); }
+        public long getCoalescedCount() { return coalesced.sum(); }
+        public long getDroppedCount() { return dropped.sum(); }
+        public long getFailedCount() { return failed.sum(); }
+
+        @Override
+        public String toString() {
+            return String.format("%s: delivered=%d coalesced=%d dropped=%d failed=%d pending=%d",
+                    name, getDeliveredCount(), getCoalescedCount(), getDroppedCount(), getFailedCount(),
+                    getPendingCount());
+        }
+    }
+
+    public OrderEventBus() {
+        AtomicInteger counter = new AtomicInteger(1);
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "order-events-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.published = new LongAdder();
+    }
+
+    public Subscription subscribe(String name, IOrderEventListener listener, OrderEventType first,
+                                  OrderEventType... rest) {
+        return subscribe(name, EnumSet.of(first, rest), DEFAULT_QUEUE_CAPACITY, false, listener);
+    }
+
+    public Subscription subscribe(String name, Set<OrderEventType> types, int queueCapacity,
+                                  boolean coalescing, IOrderEventListener listener) {
+        return subscribe(name, types, queueCapacity, coalescing, BackpressurePolicy.DROP, listener);
+    }
+
+    public Subscription subscribe(String name, Set<OrderEventType> types, int queueCapacity, boolean coalescing,
+                                  BackpressurePolicy policy, IOrderEventListener listener) {
+        Subscription subscription = new Subscription(name, types, queueCapacity, coalescing, policy, listener, executor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        subscription.cancel();
+    }
+
+    public void publish(OrderEvent event) {
+        if (suppressed) {
+            return;
+        }
+        published.increment();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.enqueue(event);
+            }
+        }
+    }
+
+    public void publish(OrderEventType type, Order order) {
+        publish(new OrderEvent(type, order, null, order.getStatus()));
+    }
+
+    @Override
+    public void onStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        OrderEventType type = newStatus == OrderStatus.CANCELLED ? OrderEventType.CANCELLED : OrderEventType.STATUS_CHANGED;
+        publish(new OrderEvent(type, order, oldStatus, newStatus));
+    }
+
+    // Used while replaying persisted state so recovery doesn't look like new activity
+    public void setSuppressed(boolean suppressed) {
+        this.suppressed = suppressed;
+    }
+
+    // Delivers what is already queued, then stops the delivery threads
+    public void shutdown(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            // Nothing drains from now on, so publishers waiting for room must not wait forever
+            for (Subscription subscription : subscriptions) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    public String getMetricsReport() {
+        StringBuilder report = new StringBuilder("Order events published: " + getPublishedCount());
+        for (Subscription subscription : subscriptions) {
+            report.append(System.lineSeparator()).append("  ").append(subscription);
+        }
+        return report.toString();
+    }
+
+    // Getters
+    public List<Subscription> getSubscriptions() { return subscriptions; }
+    public long getPublishedCount() { return published.sum(); }
+}
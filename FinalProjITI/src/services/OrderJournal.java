@@ -0,0 +1,391 @@
+package services;
+
+import enums.OrderStatus;
+import interfaces.IMenuProvider;
+import interfaces.IOrderStatusListener;
+import interfaces.IStudentRepository;
+import logging.Logger;
+import metrics.LatencyHistogram;
+import models.MenuItem;
+import models.Order;
+import models.OrderLine;
+import models.Student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-ahead log of order creation, status transitions and loyalty balances.
+// Appends are queued and a single writer thread flushes whatever has accumulated
+// with one fsync (group commit), then acknowledges every record in that batch.
+// Offsets are logical: once a snapshot covers the head of the file, compactTo() rewrites it
+// as a B|base header plus the tail, so offsets recorded earlier stay valid.
+public class OrderJournal implements IOrderStatusListener {
+    private static final Logger logger = Logger.getLogger(OrderJournal.class);
+
+    private static final int MAX_BATCH_SIZE = 4096;
+    private static final int HEADER_LENGTH = 22; // "B|" + 19 digits + '\n'
+
+    private Path journalFile;
+    private FileChannel channel;
+    private BlockingQueue<PendingRecord> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long baseOffset; // Logical offset of the file's first byte
+    private volatile long durableOffset; // Logical end of the file as of the last fsync
+    private final Object fileLock = new Object(); // Held while writing a batch or compacting
+
+    // Metrics
+    private LatencyHistogram appendLatency;
+    private LongAdder recordsWritten;
+    private LongAdder syncCount;
+
+    private static class PendingRecord {
+        private String line;
+        private long enqueuedAt;
+        private CompletableFuture<Void> durable;
+
+        PendingRecord(String line) {
+            this.line = line;
+            this.enqueuedAt = System.nanoTime();
+            this.durable = new CompletableFuture<>();
+        }
+    }
+
+    public OrderJournal(Path journalFile) throws IOException {
+        this.journalFile = journalFile;
+        this.channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.baseOffset = readBaseOffset(journalFile);
+        this.durableOffset = baseOffset + channel.size();
+        this.queue = new LinkedBlockingQueue<>();
+        this.appendLatency = new LatencyHistogram();
+        this.recordsWritten = new LongAdder();
+        this.syncCount = new LongAdder();
+        this.running = true;
+        this.writer = new Thread(this::runWriter, "order-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // C|orderId|studentId|orderDateMillis|itemId[*qty],itemId[*qty],...
+    // False if the record could not be made durable, in which case the order must not be accepted
+    public boolean recordCreated(Order order) {
+        StringBuilder line = new StringBuilder("C|")
+                .append(order.getOrderId()).append('|')
+                .append(order.getStudent().getStudentId()).append('|')
+                .append(order.getOrderDate().getTime()).append('|');
+        boolean first = true;
+        for (OrderLine orderLine : order.getOrderItems().getLines()) {
+            if (!first) {
+                line.append(',');
+            }
+            line.append(orderLine.getItemId());
+            if (orderLine.getQuantity() > 1) {
+                line.append('*').append(orderLine.getQuantity());
+            }
+            first = false;
+        }
+        return append(line.toString());
+    }
+
+    // S|orderId|STATUS
+    public boolean recordStatusChange(Order order, OrderStatus newStatus) {
+        return append(statusRecord(order, newStatus));
+    }
+
+    // Called with the order's monitor held, so this only queues the record: waiting for the
+    // fsync here would serialize every status transition behind the disk. The single writer
+    // keeps records in queue order, so the file still sees them in transition order.
+    @Override
+    public void onStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        appendInBackground(statusRecord(order, newStatus), order.getOrderId());
+    }
+
+    // P|studentId|balance: the whole balance rather than the change, so replaying a record
+    // the snapshot already reflects is harmless. Queued without waiting, like status changes:
+    // callers hold the student's monitor so balances are journaled in the order they changed.
+    public void recordPointsBalance(Student student) {
+        appendInBackground("P|" + student.getStudentId() + "|" + student.viewPointsBalance(), student.getStudentId());
+    }
+
+    private void appendInBackground(String line, String subject) {
+        appendAsync(line).whenComplete((done, error) -> {
+            if (error != null) {
+                logger.error("Order journal append failed for " + subject + ": " + error.getMessage());
+            }
+        });
+    }
+
+    private static String statusRecord(Order order, OrderStatus newStatus) {
+        return "S|" + order.getOrderId() + "|" + newStatus;
+    }
+
+    // Blocks until the record is on disk; false if it could not be written
+    public boolean append(String line) {
+        try {
+            appendAsync(line).join();
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Order journal append failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public CompletableFuture<Void> appendAsync(String line) {
+        PendingRecord record = new PendingRecord(line);
+        if (!running) {
+            record.durable.completeExceptionally(new IllegalStateException("Order journal is closed"));
+            return record.durable;
+        }
+        queue.add(record);
+        // close() may have landed between the check and the add, after the writer's last drain.
+        // Taking the record back means nobody else will complete it; if it is already gone, the
+        // writer has it and completes it either way.
+        if (!running && queue.remove(record)) {
+            record.durable.completeExceptionally(new IllegalStateException("Order journal is closed"));
+        }
+        return record.durable;
+    }
+
+    private void runWriter() {
+        List<PendingRecord> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Anything that raced with close() is failed rather than left waiting forever
+        PendingRecord stranded;
+        while ((stranded = queue.poll()) != null) {
+            stranded.durable.completeExceptionally(new IllegalStateException("Order journal is closed"));
+        }
+    }
+
+    private void writeBatch(List<PendingRecord> batch) {
+        synchronized (fileLock) {
+            writeBatchLocked(batch);
+        }
+    }
+
+    private void writeBatchLocked(List<PendingRecord> batch) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (PendingRecord record : batch) {
+                lines.append(record.line).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            durableOffset += buffer.limit();
+            syncCount.increment();
+            recordsWritten.add(batch.size());
+
+            for (PendingRecord record : batch) {
+                appendLatency.recordSince(record.enqueuedAt);
+                record.durable.complete(null);
+            }
+        } catch (IOException e) {
+            for (PendingRecord record : batch) {
+                record.durable.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Drops everything before offset, which a snapshot must already cover. The tail is copied to a
+    // new file that replaces the journal in one rename; appends wait meanwhile. False if there was
+    // too little to drop to be worth it.
+    public boolean compactTo(long offset) throws IOException {
+        synchronized (fileLock) {
+            long dropped = offset - baseOffset;
+            if (dropped <= HEADER_LENGTH || offset > durableOffset) {
+                return false;
+            }
+
+            long newBase = offset - HEADER_LENGTH;
+            Path temp = journalFile.resolveSibling(journalFile.getFileName() + ".compact");
+            try (FileChannel source = FileChannel.open(journalFile, StandardOpenOption.READ);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.wrap(String.format("B|%019d\n", newBase).getBytes(StandardCharsets.UTF_8));
+                while (header.hasRemaining()) {
+                    target.write(header);
+                }
+                long position = dropped;
+                long end = source.size();
+                while (position < end) {
+                    position += source.transferTo(position, end - position, target);
+                }
+                target.force(true);
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            baseOffset = newBase;
+            logger.info("Compacted order journal, dropped " + (dropped - HEADER_LENGTH) + " bytes covered by the snapshot");
+            return true;
+        }
+    }
+
+    private static long readBaseOffset(Path journalFile) throws IOException {
+        try (FileChannel input = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            input.read(header);
+            String text = new String(header.array(), 0, header.position(), StandardCharsets.UTF_8);
+            if (header.position() < HEADER_LENGTH || !text.startsWith("B|")) {
+                return 0; // Never compacted
+            }
+            try {
+                return Long.parseLong(text.substring(2, HEADER_LENGTH - 1));
+            } catch (NumberFormatException e) {
+                throw new IOException("Corrupt order journal header in " + journalFile);
+            }
+        }
+    }
+
+    // Rebuilds orders from the journal into the processor without re-journaling them
+    public int replay(OrderProcessor orderProcessor) throws IOException {
+        return replay(orderProcessor, 0);
+    }
+
+    // Replays only the tail written after fromOffset, e.g. on top of a snapshot.
+    // Orders the snapshot already holds are not rebuilt; their tail statuses are applied to them.
+    public int replay(OrderProcessor orderProcessor, long fromOffset) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+
+        IStudentRepository studentRepository = orderProcessor.getStudentRepository();
+        IMenuProvider menuProvider = orderProcessor.getMenuProvider();
+        Map<String, Order> orders = new LinkedHashMap<>();
+        Map<String, OrderStatus> statuses = new LinkedHashMap<>();
+        Map<String, Integer> balances = new LinkedHashMap<>(); // studentId -> latest balance
+        int skipped = 0;
+        if (fromOffset < baseOffset) {
+            logger.warn("Order journal was compacted up to offset " + baseOffset +
+                    ", records before it are only in the snapshot");
+        }
+
+        try (FileChannel input = FileChannel.open(journalFile, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(Channels.newReader(
+                     input.position(Math.max(0, fromOffset - baseOffset)), StandardCharsets.UTF_8.newDecoder(), -1))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\\|", -1);
+                try {
+                    if (fields[0].equals("B") && fields.length == 2) {
+                        continue; // Compaction header
+                    } else if (fields[0].equals("C") && fields.length == 5) {
+                        if (orderProcessor.getOrderById(fields[1]) != null) {
+                            continue;
+                        }
+                        Student student = studentRepository.getStudent(fields[2]);
+                        if (student == null) {
+                            skipped++;
+                            continue;
+                        }
+                        Order order = new Order(fields[1], student, new Date(Long.parseLong(fields[3])));
+                        // Older journals repeat the item id once per unit instead of using *qty
+                        for (String entry : fields[4].split(",")) {
+                            int star = entry.indexOf('*');
+                            String itemId = star < 0 ? entry : entry.substring(0, star);
+                            int quantity = star < 0 ? 1 : Integer.parseInt(entry.substring(star + 1));
+                            MenuItem item = menuProvider.getMenuItemById(itemId);
+                            if (item != null) {
+                                order.addItem(item, quantity);
+                            }
+                        }
+                        orders.put(order.getOrderId(), order);
+                    } else if (fields[0].equals("S") && fields.length == 3) {
+                        statuses.put(fields[1], OrderStatus.valueOf(fields[2]));
+                    } else if (fields[0].equals("P") && fields.length == 3) {
+                        balances.put(fields[1], Integer.parseInt(fields[2]));
+                    } else {
+                        skipped++; // Torn or unknown record, e.g. from a crash mid-write
+                    }
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+        }
+
+        for (Order order : orders.values()) {
+            OrderStatus status = statuses.remove(order.getOrderId());
+            if (status != null && status != order.getStatus()) {
+                order.changeStatus(status);
+            }
+            orderProcessor.restoreOrder(order);
+        }
+        for (Map.Entry<String, OrderStatus> entry : statuses.entrySet()) {
+            Order existing = orderProcessor.getOrderById(entry.getKey());
+            if (existing != null && existing.getStatus() != entry.getValue()) {
+                existing.changeStatus(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Integer> entry : balances.entrySet()) {
+            Student student = studentRepository.getStudent(entry.getKey());
+            if (student != null) {
+                student.setPointsBalance(entry.getValue());
+            }
+        }
+
+        logger.info("Replayed " + orders.size() + " orders from journal" +
+                (skipped > 0 ? " (" + skipped + " records skipped)" : ""));
+        return orders.size();
+    }
+
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Failed to close order journal: " + e.getMessage());
+        }
+    }
+
+    // Getters
+    public Path getJournalFile() { return journalFile; }
+    public LatencyHistogram getAppendLatency() { return appendLatency; }
+    public long getRecordsWritten() { return recordsWritten.sum(); }
+    public long getSyncCount() { return syncCount.sum(); }
+    public long getDurableOffset() { return durableOffset; }
+    public long getBaseOffset() { return baseOffset; }
+}
@@ -0,0 +1,56 @@
+package services;
+
+import enums.BackpressurePolicy;
+import models.Order;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class OrderPipeline {
+    private List<PipelineStage<Order>> stages;
+
+    public OrderPipeline() {
+        this.stages = new ArrayList<>();
+    }
+
+    public OrderPipeline addStage(String name, int threads, int queueCapacity,
+                                  BackpressurePolicy policy, Consumer<Order> action) {
+        stages.add(new PipelineStage<>(name, threads, queueCapacity, policy, action));
+        return this;
+    }
+
+    // Hands the accepted order to every stage; each stage runs on its own executor
+    public void submit(Order order) {
+        for (PipelineStage<Order> stage : stages) {
+            stage.submit(order);
+        }
+    }
+
+    public PipelineStage<Order> getStage(String name) {
+        for (PipelineStage<Order> stage : stages) {
+            if (stage.getName().equals(name)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+
+    public List<PipelineStage<Order>> getStages() {
+        return new ArrayList<>(stages);
+    }
+
+    public String getMetricsReport() {
+        StringBuilder report = new StringBuilder("Order Pipeline Metrics");
+        for (PipelineStage<Order> stage : stages) {
+            report.append("\n").append(stage.getMetricsSummary());
+        }
+        return report.toString();
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) {
+        for (PipelineStage<Order> stage : stages) {
+            stage.shutdown(timeout, unit);
+        }
+    }
+}
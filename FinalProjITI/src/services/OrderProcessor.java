@@ -1,34 +1,109 @@
 package services;
 
 import interfaces.IOrderProcessor;
+import interfaces.IOrderRepository;
 import interfaces.IMenuProvider;
 import interfaces.IStudentRepository;
 import interfaces.IPaymentProcessor;
+import logging.Logger;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import metrics.RateMeter;
 import models.Order;
+import models.OrderEvent;
+import models.OrderLine;
 import models.MenuItem;
 import models.Student;
+import enums.BackpressurePolicy;
+import enums.KitchenPolicy;
+import enums.OrderEventType;
 import enums.OrderStatus;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class OrderProcessor implements IOrderProcessor {
-    private List<Order> currentOrders;
+    private static final Logger logger = Logger.getLogger(OrderProcessor.class);
+
+    private static final String STAGE_METRIC = "cafeteria_process_order_stage_seconds";
+    private static final String STAGE_HELP = "Time spent in each stage of OrderProcessor.processOrder";
+    private static final LatencyHistogram processOrderTime = MetricsRegistry.histogram(
+            "cafeteria_process_order_seconds", "OrderProcessor.processOrder latency");
+    private static final LatencyHistogram createdStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "created");
+    private static final LatencyHistogram confirmStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "confirm");
+    private static final LatencyHistogram journalStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "journal");
+    private static final LatencyHistogram storeStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "store");
+    private static final LatencyHistogram publishStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "publish");
+    private static final LatencyHistogram pipelineStage = MetricsRegistry.histogram(STAGE_METRIC, STAGE_HELP, "stage", "pipeline");
+    private static final Counter ordersAccepted = MetricsRegistry.counter(
+            "cafeteria_orders_processed_total", "Orders through processOrder by outcome", "result", "accepted");
+    private static final Counter ordersRejected = MetricsRegistry.counter(
+            "cafeteria_orders_processed_total", "Orders through processOrder by outcome", "result", "rejected");
+
+    private IOrderRepository orderRepository;
     private IMenuProvider menuProvider;
     private IStudentRepository studentRepository;
     private IPaymentProcessor paymentProcessor;
     private services.LoyaltyProgram loyaltyProgram;
     private NotificationService notificationService;
     private QLearningRecommender recommender;
+    private OrderPipeline orderPipeline;
+    private OrderEventBus eventBus;
+    private KitchenScheduler kitchenScheduler; // Optional, null while staff drive statuses by hand
+    private OrderJournal orderJournal; // Optional write-ahead log, null when disabled
+    private Inventory inventory; // Null when stock isn't tracked
+    private RateMeter intakeRate; // Accepted orders
 
     public OrderProcessor(IMenuProvider menuProvider, IStudentRepository studentRepository,
                           IPaymentProcessor paymentProcessor, services.LoyaltyProgram loyaltyProgram) {
-        this.currentOrders = new ArrayList<>();
+        this(menuProvider, studentRepository, paymentProcessor, loyaltyProgram, new OrderStore());
+    }
+
+    public OrderProcessor(IMenuProvider menuProvider, IStudentRepository studentRepository,
+                          IPaymentProcessor paymentProcessor, services.LoyaltyProgram loyaltyProgram,
+                          IOrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
         this.menuProvider = menuProvider;
+        this.inventory = menuProvider.getInventory();
         this.studentRepository = studentRepository;
         this.paymentProcessor = paymentProcessor;
         this.loyaltyProgram = loyaltyProgram;
         this.notificationService = new NotificationService();
         this.recommender = new QLearningRecommender();
+        this.orderPipeline = createDefaultPipeline();
+        this.eventBus = new OrderEventBus();
+        this.intakeRate = new RateMeter();
+        // A pickup notice must not be lost to a full queue; sent on the publishing thread instead
+        eventBus.subscribe("ready-notification", EnumSet.of(OrderEventType.STATUS_CHANGED), 1024, false,
+                BackpressurePolicy.CALLER_RUNS, this::notifyWhenReady);
+        registerGauges();
+    }
+
+    // The most recently created processor owns these series
+    private void registerGauges() {
+        for (OrderStatus status : OrderStatus.values()) {
+            MetricsRegistry.gauge("cafeteria_orders", "Orders currently held, by status",
+                    () -> orderRepository.getOrderCount(status), "status", status.name());
+        }
+        for (PipelineStage<Order> stage : orderPipeline.getStages()) {
+            MetricsRegistry.gauge("cafeteria_pipeline_queue_depth", "Orders waiting in each post-acceptance stage",
+                    stage::getQueueDepth, "stage", stage.getName());
+        }
+    }
+
+    // Work done after an order is accepted; each stage has its own queue and executor
+    private OrderPipeline createDefaultPipeline() {
+        return new OrderPipeline()
+                // Learning signal is best-effort, so shed load rather than slow intake
+                .addStage("recommender", 1, 1024, BackpressurePolicy.DROP, this::updateRecommendationModel)
+                // Points must never be lost, so make the producer wait
+                .addStage("loyalty", 1, 1024, BackpressurePolicy.BLOCK, loyaltyProgram::awardPoints)
+                .addStage("notification", 2, 1024, BackpressurePolicy.CALLER_RUNS, order ->
+                        notificationService.sendNotification(order.getStudent(),
+                                "Your order #" + order.getOrderId() + " has been received and is being processed."));
     }
 
     public OrderProcessor(services.MenuManager menuManager, StudentManager studentManager,
@@ -39,50 +114,115 @@ public class OrderProcessor implements IOrderProcessor {
 
     @Override
     public boolean processOrder(Order order) {
-        if (order.confirmOrder()) {
-            currentOrders.add(order);
-            System.out.println("Order " + order.getOrderId() + " processed successfully");
-
-            // Update reinforcement learning model
-            updateRecommendationModel(order);
-
-            // Award loyalty points
-            loyaltyProgram.awardPoints(order);
+        long start = System.nanoTime();
+        eventBus.publish(OrderEventType.CREATED, order);
+        long mark = lap(createdStage, start);
+        // Stock is held from confirmation until the order is completed or cancelled. Every
+        // checkout (console, GUI, API) ends here, so serving times are enforced here too.
+        boolean reserved = isServedNow(order) && (inventory == null || inventory.reserve(order));
+        boolean accepted = reserved && order.confirmOrder();
+        mark = lap(confirmStage, mark);
+        // Journal before publishing so a later status change can't reach disk ahead of the creation
+        // record. An order that can't be made durable is rejected: a crash would lose it.
+        if (accepted && orderJournal != null) {
+            accepted = orderJournal.recordCreated(order);
+            mark = lap(journalStage, mark);
+        }
+        if (accepted) {
+            if (inventory != null) {
+                order.addStatusListener(inventory);
+            }
+            if (orderJournal != null) {
+                order.addStatusListener(orderJournal);
+            }
+            orderRepository.addOrder(order);
+            order.addStatusListener(eventBus);
+            mark = lap(storeStage, mark);
+            eventBus.publish(OrderEventType.CONFIRMED, order);
+            logger.info("Order " + order.getOrderId() + " processed successfully");
+            mark = lap(publishStage, mark);
 
-            // Notify student
-            notificationService.sendNotification(order.getStudent(),
-                    "Your order #" + order.getOrderId() + " has been received and is being processed.");
+            // Recommender update, loyalty points and notification run asynchronously
+            orderPipeline.submit(order);
+            lap(pipelineStage, mark);
 
+            processOrderTime.recordSince(start);
+            ordersAccepted.increment();
+            intakeRate.mark();
             return true;
         }
 
-        System.out.println("Failed to process order " + order.getOrderId());
+        if (reserved && inventory != null) {
+            inventory.release(order);
+        }
+        logger.warn("Failed to process order " + order.getOrderId());
+        processOrderTime.recordSince(start);
+        ordersRejected.increment();
         return false;
     }
 
+    private boolean isServedNow(Order order) {
+        for (OrderLine line : order.getOrderItems().getLines()) {
+            if (!menuProvider.isServedNow(line.getItemId())) {
+                logger.info(() -> "Order " + order.getOrderId() + " rejected: " + line.getItem().getName() + " is not served at this time");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Records the time since the previous mark and returns the new mark
+    private static long lap(LatencyHistogram stage, long since) {
+        long now = System.nanoTime();
+        stage.record(now - since);
+        return now;
+    }
+
+    // Adds an order recovered from the journal without confirming, journaling or rewarding it again.
+    // One still open holds its stock again, as it did before the restart; the snapshot's stock
+    // levels count those units as on hand.
+    public void restoreOrder(Order order) {
+        if (!orderRepository.addOrder(order)) {
+            return;
+        }
+        order.getStudent().addOrderToHistory(order.getOrderId());
+        OrderStatus status = order.getStatus();
+        if (inventory != null && status != OrderStatus.COMPLETED && status != OrderStatus.CANCELLED) {
+            if (!inventory.reserve(order)) {
+                logger.warn("Recovered order " + order.getOrderId() + " exceeds the stock on hand, not holding any for it");
+            }
+            order.addStatusListener(inventory);
+        }
+        order.addStatusListener(eventBus);
+        if (orderJournal != null) {
+            order.addStatusListener(orderJournal);
+        }
+    }
+
     private void updateRecommendationModel(Order order) {
-        order.getOrderItems().getItems().forEach(item -> {
+        double orderTotal = order.getOrderCalculator().calculateTotal();
+        order.getOrderItems().getLines().forEach(line -> {
             // Calculate reward based on item price and quantity
             double reward = recommender.calculateReward(
                     order.getStudent(),
-                    item,
-                    1, // Assuming quantity 1 for simplicity
-                    order.getOrderCalculator().calculateTotal()
+                    line.getItem(),
+                    line.getQuantity(),
+                    orderTotal
             );
 
             // Update Q-values
-            recommender.updateQValue(order.getStudent(), item, reward);
+            recommender.updateQValue(order.getStudent(), line.getItem(), reward);
         });
 
         // Save Q-table periodically
-        if (currentOrders.size() % 10 == 0) {
+        if (orderRepository.getOrderCount() % 10 == 0) {
             recommender.saveQTable();
         }
     }
 
     // Get personalized recommendations for a student
     public List<MenuItem> getPersonalizedRecommendations(Student student, int maxRecommendations) {
-        return recommender.getRecommendations(student, menuProvider.getMenuItems(), maxRecommendations);
+        return recommender.getRecommendations(student, menuProvider.getAvailableMenuItems(), maxRecommendations);
     }
 
     // Get recommendation scores for monitoring
@@ -97,57 +237,113 @@ public class OrderProcessor implements IOrderProcessor {
 
     @Override
     public boolean updateOrderStatus(String orderId, OrderStatus status) {
-        Optional<Order> orderOpt = currentOrders.stream()
-                .filter(order -> order.getOrderId().equals(orderId))
-                .findFirst();
+        Order order = orderRepository.getOrder(orderId);
 
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
+        if (order != null) {
+            // Subscribers such as the ready notification hear about it through the event bus
             order.changeStatus(status);
-
-            // Notify student when order is ready
-            if (status == OrderStatus.READY) {
-                notificationService.sendNotification(order.getStudent(),
-                        "Your order #" + orderId + " is ready for pickup!");
-            }
-
             return true;
         }
 
-        System.out.println("Order with ID " + orderId + " not found");
+        logger.warn("Order with ID " + orderId + " not found");
         return false;
     }
 
-    public List<Order> getPendingOrders() {
-        List<Order> pendingOrders = new ArrayList<>();
-        for (Order order : currentOrders) {
-            if (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.PREPARING) {
-                pendingOrders.add(order);
-            }
+    // False if the order is missing or has already left the expected status
+    @Override
+    public boolean updateOrderStatusIf(String orderId, OrderStatus expected, OrderStatus status) {
+        Order order = orderRepository.getOrder(orderId);
+        return order != null && order.changeStatusIf(expected, status);
+    }
+
+    private void notifyWhenReady(OrderEvent event) {
+        if (event.getNewStatus() == OrderStatus.READY) {
+            notificationService.sendNotification(event.getOrder().getStudent(),
+                    "Your order #" + event.getOrderId() + " is ready for pickup!");
         }
-        return pendingOrders;
+    }
+
+    public List<Order> getPendingOrders() {
+        return orderRepository.getOrdersByStatus(OrderStatus.PENDING, OrderStatus.PREPARING);
     }
 
     public List<Order> getCompletedOrders() {
-        List<Order> completedOrders = new ArrayList<>();
-        for (Order order : currentOrders) {
-            if (order.getStatus() == OrderStatus.COMPLETED) {
-                completedOrders.add(order);
-            }
-        }
-        return completedOrders;
+        return orderRepository.getOrdersByStatus(OrderStatus.COMPLETED);
     }
 
     public Order getOrderById(String orderId) {
-        return currentOrders.stream()
-                .filter(order -> order.getOrderId().equals(orderId))
-                .findFirst()
-                .orElse(null);
+        return orderRepository.getOrder(orderId);
     }
 
     // Getters for dependencies
     public IMenuProvider getMenuProvider() { return menuProvider; }
     public IStudentRepository getStudentRepository() { return studentRepository; }
+    public IOrderRepository getOrderRepository() { return orderRepository; }
     public services.LoyaltyProgram getLoyaltyProgram() { return loyaltyProgram; }
     public QLearningRecommender getRecommender() { return recommender; }
+    public OrderPipeline getOrderPipeline() { return orderPipeline; }
+    public OrderJournal getOrderJournal() { return orderJournal; }
+    public Inventory getInventory() { return inventory; }
+    public OrderEventBus getEventBus() { return eventBus; }
+    public KitchenScheduler getKitchenScheduler() { return kitchenScheduler; }
+    public RateMeter getIntakeRate() { return intakeRate; }
+
+    public void setOrderJournal(OrderJournal orderJournal) {
+        this.orderJournal = orderJournal;
+        loyaltyProgram.setJournal(orderJournal);
+    }
+
+    // Opens the journal, replays it into this processor and journals from then on
+    public boolean enableJournal(Path journalFile) {
+        return enableJournal(journalFile, 0);
+    }
+
+    // fromOffset lets a snapshot skip the part of the journal it already covers
+    public boolean enableJournal(Path journalFile, long fromOffset) {
+        try {
+            OrderJournal journal = new OrderJournal(journalFile);
+            eventBus.setSuppressed(true);
+            try {
+                journal.replay(this, fromOffset);
+            } finally {
+                eventBus.setSuppressed(false);
+            }
+
+            // Attach only after replay so recovered transitions aren't journaled twice
+            setOrderJournal(journal);
+            for (Order order : orderRepository.getAllOrders()) {
+                order.addStatusListener(journal);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Order journal unavailable, orders will not survive a restart: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Confirmed orders are cooked by the kitchen, which marks them PREPARING and READY.
+    // Open orders that are already stored (e.g. recovered from the journal) are queued first.
+    public KitchenScheduler enableKitchen(KitchenPolicy policy, double timeScale) {
+        if (kitchenScheduler != null) {
+            return kitchenScheduler;
+        }
+        kitchenScheduler = new KitchenScheduler(this, policy, KitchenScheduler.DEFAULT_SLACK_MILLIS);
+        kitchenScheduler.start(eventBus, timeScale);
+        for (Order order : orderRepository.getOrdersByStatus(OrderStatus.PENDING, OrderStatus.PREPARING)) {
+            kitchenScheduler.submit(order);
+        }
+        return kitchenScheduler;
+    }
+
+    // Drains queued pipeline work, e.g. before the application exits
+    public void shutdown() {
+        if (kitchenScheduler != null) {
+            kitchenScheduler.shutdown();
+        }
+        orderPipeline.shutdown(5, TimeUnit.SECONDS);
+        eventBus.shutdown(5, TimeUnit.SECONDS);
+        if (orderJournal != null) {
+            orderJournal.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package services;
+
+import enums.OrderStatus;
+import interfaces.IOrderRepository;
+import interfaces.IOrderStatusListener;
+import logging.Logger;
+import models.Order;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrderStore implements IOrderRepository, IOrderStatusListener {
+    private static final Logger logger = Logger.getLogger(OrderStore.class);
+
+    private Map<String, Order> ordersById; // orderId -> order, O(1) lookup
+    private Map<String, Long> sequenceById; // orderId -> insertion sequence
+    private ConcurrentSkipListMap<Long, Order> allOrders; // Keeps insertion order for listings
+    private Map<OrderStatus, ConcurrentSkipListMap<Long, Order>> statusIndex;
+    private Map<OrderStatus, AtomicInteger> statusCounts; // Skip-list size() is a full walk
+    private AtomicLong nextSequence;
+
+    public OrderStore() {
+        this.ordersById = new ConcurrentHashMap<>();
+        this.sequenceById = new ConcurrentHashMap<>();
+        this.allOrders = new ConcurrentSkipListMap<>();
+        this.statusIndex = new EnumMap<>(OrderStatus.class);
+        this.statusCounts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            statusIndex.put(status, new ConcurrentSkipListMap<>());
+            statusCounts.put(status, new AtomicInteger());
+        }
+        this.nextSequence = new AtomicLong();
+    }
+
+    @Override
+    public boolean addOrder(Order order) {
+        if (order == null || order.getOrderId() == null) {
+            return false;
+        }
+
+        if (ordersById.putIfAbsent(order.getOrderId(), order) != null) {
+            logger.warn("Order with ID " + order.getOrderId() + " already exists");
+            return false;
+        }
+
+        long sequence = nextSequence.getAndIncrement();
+        sequenceById.put(order.getOrderId(), sequence);
+        allOrders.put(sequence, order);
+
+        // Hold the order's lock so a concurrent changeStatus can't slip between
+        // reading the current status and registering for later transitions
+        synchronized (order) {
+            statusIndex.get(order.getStatus()).put(sequence, order);
+            statusCounts.get(order.getStatus()).incrementAndGet();
+            order.addStatusListener(this);
+        }
+        return true;
+    }
+
+    @Override
+    public void onStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        Long sequence = sequenceById.get(order.getOrderId());
+        if (sequence == null || oldStatus == newStatus) {
+            return;
+        }
+
+        statusIndex.get(oldStatus).remove(sequence);
+        statusCounts.get(oldStatus).decrementAndGet();
+        statusIndex.get(newStatus).put(sequence, order);
+        statusCounts.get(newStatus).incrementAndGet();
+    }
+
+    @Override
+    public Order getOrder(String orderId) {
+        if (orderId == null) {
+            return null;
+        }
+        return ordersById.get(orderId);
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus... statuses) {
+        if (statuses.length == 1) {
+            return new ArrayList<>(statusIndex.get(statuses[0]).values());
+        }
+
+        // Merge the indexes back into insertion order
+        TreeMap<Long, Order> merged = new TreeMap<>();
+        for (OrderStatus status : statuses) {
+            merged.putAll(statusIndex.get(status));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        return new ArrayList<>(allOrders.values());
+    }
+
+    @Override
+    public int getOrderCount() {
+        return ordersById.size();
+    }
+
+    @Override
+    public int getOrderCount(OrderStatus status) {
+        return statusCounts.get(status).get();
+    }
+}
@@ -0,0 +1,110 @@
+package services;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// PBKDF2-HMAC-SHA256 password hashes, stored as "pbkdf2-sha256$iterations$salt$hash" (salt and
+// hash in Base64). The iteration count comes from cafeteria.passwordIterations and is kept in
+// each hash, so raising it only affects new ones. Hashes from older versions ("sha256$salt$hash",
+// one salted SHA-256 round) still verify. Students created without going through registration
+// may hold a plain password; matches accepts it, and toStored hashes it before it is written anywhere.
+final class PasswordHasher {
+    private static final String ITERATIONS_PROPERTY = "cafeteria.passwordIterations";
+    private static final int DEFAULT_ITERATIONS = 600_000; // OWASP's recommendation for PBKDF2-HMAC-SHA256
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final String LEGACY_PREFIX = "sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom random = new SecureRandom();
+    private static final int iterations = configuredIterations();
+
+    private PasswordHasher() {
+    }
+
+    static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$" +
+                base64.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    static boolean isHash(String stored) {
+        return stored != null && (stored.startsWith(PREFIX) || stored.startsWith(LEGACY_PREFIX));
+    }
+
+    // Null stays null: the student has no password to log in with
+    static String toStored(String password) {
+        return password == null || isHash(password) ? password : hash(password);
+    }
+
+    static boolean matches(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        boolean legacy = stored.startsWith(LEGACY_PREFIX);
+        String[] fields = stored.substring(legacy ? LEGACY_PREFIX.length() : PREFIX.length()).split("\\$", -1);
+        if (fields.length != (legacy ? 2 : 3)) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] salt = base64.decode(fields[fields.length - 2]);
+            byte[] expected = base64.decode(fields[fields.length - 1]);
+            if (legacy) {
+                return MessageDigest.isEqual(expected, sha256(salt, password));
+            }
+            int storedIterations = Integer.parseInt(fields[0]);
+            return storedIterations > 0 && MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false; // Not valid Base64, or a mangled iteration count
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int rounds) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, rounds, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e); // Every JRE since 8 has it
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] sha256(byte[] salt, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(salt);
+            return sha256.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JRE has it
+        }
+    }
+
+    private static int configuredIterations() {
+        String configured = System.getProperty(ITERATIONS_PROPERTY);
+        if (configured == null) {
+            return DEFAULT_ITERATIONS;
+        }
+        try {
+            int value = Integer.parseInt(configured.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(ITERATIONS_PROPERTY + " must be a positive number: " + configured);
+    }
+}
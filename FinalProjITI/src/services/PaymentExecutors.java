@@ -0,0 +1,31 @@
+package services;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PaymentExecutors {
+    private PaymentExecutors() {
+    }
+
+    // Virtual threads on Java 21+, otherwise an unbounded pool of daemon threads.
+    // Looked up reflectively so the project still builds on older JDKs.
+    public static ExecutorService newDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return newPlatformExecutor();
+        }
+    }
+
+    public static ExecutorService newPlatformExecutor() {
+        AtomicInteger counter = new AtomicInteger(1);
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "payment-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package services;
+
+import logging.Logger;
+import models.Payment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class PaymentLedger {
+    private static final Logger logger = Logger.getLogger(PaymentLedger.class);
+
+    // Retries come within minutes; keys are forgotten after a day, or sooner past the size bound
+    private static final long IDEMPOTENCY_KEY_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+    private static final int MAX_IDEMPOTENCY_KEYS = 100_000;
+
+    private static class ClaimedKey {
+        private String key;
+        private CompletableFuture<Boolean> result;
+        private long claimedAt;
+        private volatile String paymentId; // Set once the claim's payment succeeds
+
+        ClaimedKey(String key, CompletableFuture<Boolean> result, long claimedAt) {
+            this.key = key;
+            this.result = result;
+            this.claimedAt = claimedAt;
+        }
+    }
+
+    private Map<String, Payment> paymentsById;
+    private Map<String, List<Payment>> paymentsByOrderId;
+    private Map<String, ClaimedKey> resultsByIdempotencyKey;
+    private Queue<ClaimedKey> claimOrder; // Oldest claim first, for expiry
+    private Map<String, ClaimedKey> claimsByPaymentId;
+    private BufferedWriter journal; // Optional append-only audit trail, null when disabled
+
+    public PaymentLedger() {
+        this.paymentsById = new ConcurrentHashMap<>();
+        this.paymentsByOrderId = new ConcurrentHashMap<>();
+        this.resultsByIdempotencyKey = new ConcurrentHashMap<>();
+        this.claimOrder = new ConcurrentLinkedQueue<>();
+        this.claimsByPaymentId = new ConcurrentHashMap<>();
+    }
+
+    public PaymentLedger(Path journalFile) throws IOException {
+        this();
+        this.journal = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public void recordPayment(Payment payment) {
+        paymentsById.put(payment.getPaymentId(), payment);
+        List<Payment> orderPayments = paymentsByOrderId.computeIfAbsent(
+                payment.getOrder().getOrderId(), id -> new CopyOnWriteArrayList<>());
+        if (!orderPayments.contains(payment)) {
+            orderPayments.add(payment);
+        }
+        appendToJournal("PAYMENT", payment);
+    }
+
+    public void recordRefund(Payment payment) {
+        // A refunded payment no longer answers retries; the next one charges afresh
+        ClaimedKey claim = claimsByPaymentId.remove(payment.getPaymentId());
+        if (claim != null) {
+            forget(claim);
+        }
+        appendToJournal("REFUND", payment);
+    }
+
+    // Returns the earlier submission's result if the key was already claimed, otherwise null
+    public CompletableFuture<Boolean> claimIdempotencyKey(String idempotencyKey, CompletableFuture<Boolean> result) {
+        long now = System.currentTimeMillis();
+        expireIdempotencyKeys(now);
+        ClaimedKey claim = new ClaimedKey(idempotencyKey, result, now);
+        ClaimedKey earlier = resultsByIdempotencyKey.putIfAbsent(idempotencyKey, claim);
+        if (earlier != null) {
+            return earlier.result;
+        }
+        claimOrder.add(claim);
+        return null;
+    }
+
+    // Keeps a successful claim until it expires or its payment is refunded
+    public void bindIdempotencyKey(String idempotencyKey, CompletableFuture<Boolean> result, String paymentId) {
+        ClaimedKey claim = resultsByIdempotencyKey.get(idempotencyKey);
+        if (claim != null && claim.result == result) {
+            claim.paymentId = paymentId;
+            claimsByPaymentId.put(paymentId, claim);
+        }
+    }
+
+    // Drops a failed claim so a retry with the same key is charged again instead of replaying the failure
+    public void releaseIdempotencyKey(String idempotencyKey, CompletableFuture<Boolean> result) {
+        ClaimedKey claim = resultsByIdempotencyKey.get(idempotencyKey);
+        if (claim != null && claim.result == result) {
+            forget(claim);
+        }
+    }
+
+    private void forget(ClaimedKey claim) {
+        resultsByIdempotencyKey.remove(claim.key, claim);
+        claimOrder.remove(claim);
+    }
+
+    private void expireIdempotencyKeys(long now) {
+        synchronized (claimOrder) {
+            ClaimedKey oldest;
+            while ((oldest = claimOrder.peek()) != null && (now - oldest.claimedAt > IDEMPOTENCY_KEY_TTL_MILLIS
+                    || resultsByIdempotencyKey.size() >= MAX_IDEMPOTENCY_KEYS)) {
+                claimOrder.poll();
+                resultsByIdempotencyKey.remove(oldest.key, oldest);
+                if (oldest.paymentId != null) {
+                    claimsByPaymentId.remove(oldest.paymentId, oldest);
+                }
+            }
+        }
+    }
+
+    public int getIdempotencyKeyCount() {
+        return resultsByIdempotencyKey.size();
+    }
+
+    public Payment getPayment(String paymentId) {
+        return paymentsById.get(paymentId);
+    }
+
+    public List<Payment> getPaymentsForOrder(String orderId) {
+        List<Payment> orderPayments = paymentsByOrderId.get(orderId);
+        return orderPayments == null ? new ArrayList<>() : new ArrayList<>(orderPayments);
+    }
+
+    public int getPaymentCount() {
+        return paymentsById.size();
+    }
+
+    private void appendToJournal(String event, Payment payment) {
+        if (journal == null) { // Fast path when disabled; checked again under the lock
+            return;
+        }
+
+        String line = System.currentTimeMillis() + "|" + event + "|" + payment.getPaymentId() + "|" +
+                payment.getOrder().getOrderId() + "|" + payment.getAmount() + "|" +
+                payment.getMethod() + "|" + payment.getStatus();
+        synchronized (this) {
+            if (journal == null) { // Disabled, or closed by a concurrent close()
+                return;
+            }
+            try {
+                journal.write(line);
+                journal.newLine();
+                journal.flush();
+            } catch (IOException e) {
+                logger.error("Failed to write payment journal: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Failed to close payment journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+}
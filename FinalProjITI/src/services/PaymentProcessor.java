@@ -1,18 +1,215 @@
 package services;
 
+import interfaces.IPaymentGateway;
 import interfaces.IPaymentProcessor;
+import logging.Logger;
+import models.BatchPaymentResult;
 import models.Payment;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 public class PaymentProcessor implements IPaymentProcessor {
+    private static final Logger logger = Logger.getLogger(PaymentProcessor.class);
+
+    private static final long DEFAULT_TIMEOUT_SECONDS = 10;
+
+    private IPaymentGateway gateway;
+    private ExecutorService executor;
+    private PaymentLedger ledger;
+
+    public PaymentProcessor() {
+        this(new SimulatedPaymentGateway(), PaymentExecutors.newDefaultExecutor());
+    }
+
+    public PaymentProcessor(ExecutorService executor) {
+        this(new SimulatedPaymentGateway(), executor);
+    }
+
+    public PaymentProcessor(IPaymentGateway gateway, ExecutorService executor) {
+        this(gateway, executor, new PaymentLedger());
+    }
+
+    public PaymentProcessor(IPaymentGateway gateway, ExecutorService executor, PaymentLedger ledger) {
+        this.gateway = gateway;
+        this.executor = executor;
+        this.ledger = ledger;
+    }
+
     @Override
     public boolean processPayment(Payment payment) {
-        return payment.processPayment();
+        boolean success = payment.processPayment(gateway);
+        ledger.recordPayment(payment);
+        return success;
+    }
+
+    @Override
+    public boolean processPayment(Payment payment, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return processPayment(payment);
+        }
+
+        // Retries with the same key get the first submission's result without another gateway call
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> original = ledger.claimIdempotencyKey(idempotencyKey, result);
+        if (original != null) {
+            logger.info("Duplicate submission for idempotency key " + idempotencyKey + ", returning original result");
+            return original.join();
+        }
+
+        // Only successes are remembered; waiters still see a failure but later retries try again
+        try {
+            boolean success = processPayment(payment);
+            if (success) {
+                ledger.bindIdempotencyKey(idempotencyKey, result, payment.getPaymentId());
+            } else {
+                ledger.releaseIdempotencyKey(idempotencyKey, result);
+            }
+            result.complete(success);
+            return success;
+        } catch (RuntimeException e) {
+            ledger.releaseIdempotencyKey(idempotencyKey, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+        return processPaymentAsync(payment, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment, long timeout, TimeUnit unit) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            boolean success;
+            try {
+                success = processPayment(payment);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            // The caller already gave up (timeout or cancel) and places no order, so a charge
+            // that went through anyway, e.g. a gateway ignoring the interrupt, is refunded
+            if (!result.complete(success) && success) {
+                logger.warn("Payment " + payment.getPaymentId() + " completed after its caller gave up, refunding");
+                refundPayment(payment.getPaymentId());
+            }
+        });
+
+        // Cancelling or timing out the future interrupts the gateway call, which marks the payment FAILED
+        // if the gateway honours it
+        result.orTimeout(timeout, unit).whenComplete((success, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public BatchPaymentResult processPayments(List<Payment> payments) {
+        long start = System.nanoTime();
+
+        // Split into gateway-sized chunks and keep them all in flight at once
+        int batchSize = gateway.getMaxBatchSize();
+        List<List<Payment>> batches = new ArrayList<>();
+        List<CompletableFuture<List<Boolean>>> pending = new ArrayList<>();
+        for (int from = 0; from < payments.size(); from += batchSize) {
+            List<Payment> batch = payments.subList(from, Math.min(from + batchSize, payments.size()));
+            batches.add(batch);
+            pending.add(CompletableFuture.supplyAsync(() -> chargeBatch(batch), executor));
+        }
+
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            List<Payment> batch = batches.get(i);
+            List<Boolean> outcomes = pending.get(i).join();
+            for (int j = 0; j < batch.size(); j++) {
+                results.put(batch.get(j).getPaymentId(), outcomes.get(j));
+            }
+        }
+
+        BatchPaymentResult result = new BatchPaymentResult(results, System.nanoTime() - start, batches.size());
+        logger.info(result::toString);
+        return result;
+    }
+
+    private List<Boolean> chargeBatch(List<Payment> batch) {
+        for (Payment payment : batch) {
+            payment.markProcessing();
+        }
+
+        List<Boolean> outcomes;
+        try {
+            outcomes = gateway.chargeBatch(batch);
+        } catch (InterruptedException | RuntimeException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Payment batch failed: " + e.getMessage());
+            outcomes = allFailed(batch.size());
+        }
+
+        if (outcomes == null || outcomes.size() != batch.size()) {
+            // Results can't be matched to payments, yet some may have been charged: refund them all
+            logger.error("Payment gateway returned " + (outcomes == null ? "no" : outcomes.size()) +
+                    " results for a batch of " + batch.size() + ", refunding the batch");
+            for (Payment payment : batch) {
+                payment.markCompleted();
+                ledger.recordPayment(payment);
+                refundPayment(payment.getPaymentId());
+            }
+            return allFailed(batch.size());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes.get(i)) {
+                batch.get(i).markCompleted();
+            } else {
+                batch.get(i).markFailed();
+            }
+            ledger.recordPayment(batch.get(i));
+        }
+        return outcomes;
+    }
+
+    private static List<Boolean> allFailed(int count) {
+        List<Boolean> outcomes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            outcomes.add(false);
+        }
+        return outcomes;
     }
 
     @Override
     public boolean refundPayment(String paymentId) {
-        // This would look up the payment by ID in a real application
-        System.out.println("Processing refund for payment ID: " + paymentId);
-        return true;
+        Payment payment = ledger.getPayment(paymentId);
+        if (payment == null) {
+            logger.warn("Payment with ID " + paymentId + " not found");
+            return false;
+        }
+
+        logger.info("Processing refund for payment ID: " + paymentId);
+        if (payment.refundPayment()) {
+            ledger.recordRefund(payment);
+            return true;
+        }
+        return false;
     }
-}
\ No newline at end of file
+
+    public void shutdown() {
+        executor.shutdown();
+        ledger.close();
+    }
+
+    public IPaymentGateway getGateway() { return gateway; }
+    public PaymentLedger getLedger() { return ledger; }
+}
@@ -0,0 +1,138 @@
+package services;
+
+import enums.BackpressurePolicy;
+import logging.Logger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class PipelineStage<T> {
+    private static final Logger logger = Logger.getLogger(PipelineStage.class);
+
+    private String name;
+    private BackpressurePolicy policy;
+    private Consumer<T> action;
+    private ThreadPoolExecutor executor;
+
+    // Metrics
+    private LongAdder submitted;
+    private LongAdder completed;
+    private LongAdder failed;
+    private LongAdder rejected;
+    private LongAdder totalLatencyNanos;
+    private AtomicLong maxLatencyNanos;
+
+    public PipelineStage(String name, int threads, int queueCapacity,
+                         BackpressurePolicy policy, Consumer<T> action) {
+        this.name = name;
+        this.policy = policy;
+        this.action = action;
+        this.submitted = new LongAdder();
+        this.completed = new LongAdder();
+        this.failed = new LongAdder();
+        this.rejected = new LongAdder();
+        this.totalLatencyNanos = new LongAdder();
+        this.maxLatencyNanos = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), createThreadFactory(name), createRejectionHandler());
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-" + name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private RejectedExecutionHandler createRejectionHandler() {
+        switch (policy) {
+            case BLOCK:
+                return (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        rejected.increment();
+                        return;
+                    }
+                    try {
+                        pool.getQueue().put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        rejected.increment();
+                    }
+                };
+            case CALLER_RUNS:
+                return (task, pool) -> {
+                    if (!pool.isShutdown()) {
+                        task.run();
+                    } else {
+                        rejected.increment();
+                    }
+                };
+            case DROP:
+            default:
+                return (task, pool) -> {
+                    rejected.increment();
+                    logger.warn("Pipeline stage " + name + " is full, dropping task");
+                };
+        }
+    }
+
+    public void submit(T input) {
+        submitted.increment();
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> run(input, enqueuedAt));
+    }
+
+    private void run(T input, long enqueuedAt) {
+        try {
+            action.accept(input);
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Pipeline stage " + name + " failed: " + e.getMessage());
+        } finally {
+            long latency = System.nanoTime() - enqueuedAt;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public double getAverageLatencyMillis() {
+        long finished = completed.sum() + failed.sum();
+        return finished == 0 ? 0.0 : totalLatencyNanos.sum() / (double) finished / 1_000_000.0;
+    }
+
+    public String getMetricsSummary() {
+        return String.format("%s: queued=%d submitted=%d completed=%d failed=%d rejected=%d avgLatency=%.3fms maxLatency=%.3fms",
+                name, getQueueDepth(), getSubmittedCount(), getCompletedCount(), getFailedCount(), getRejectedCount(),
+                getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public BackpressurePolicy getPolicy() { return policy; }
+    public int getQueueDepth() { return executor.getQueue().size(); }
+    public int getQueueCapacity() { return executor.getQueue().size() + executor.getQueue().remainingCapacity(); }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getCompletedCount() { return completed.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+    public double getMaxLatencyMillis() { return maxLatencyNanos.get() / 1_000_000.0; }
+}
@@ -1,31 +1,42 @@
 package services;
 
+import logging.Logger;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import models.MenuItem;
 import models.Student;
 import enums.MenuCategory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class QLearningRecommender {
+    private static final Logger logger = Logger.getLogger(QLearningRecommender.class);
+
+    private static final LatencyHistogram updateTime = MetricsRegistry.histogram(
+            "cafeteria_recommender_update_seconds", "QLearningRecommender.updateQValue latency");
+
     private Map<String, Map<String, Double>> qTable; // studentId -> (itemId -> Q-value)
-    private double learningRate = 0.1;
+    // Tunable at runtime (see RecommenderControl); volatile so the pipeline thread sees changes
+    private volatile double learningRate = 0.1;
     private double discountFactor = 0.9;
-    private double explorationRate = 0.3;
+    private volatile double explorationRate = 0.3;
     private Random random;
 
     public QLearningRecommender() {
-        this.qTable = new HashMap<>();
+        // Concurrent maps: updates arrive from the order pipeline while the GUI reads recommendations
+        this.qTable = new ConcurrentHashMap<>();
         this.random = new Random();
     }
 
     // Update Q-value when a student orders an item
     public void updateQValue(Student student, MenuItem item, double reward) {
+        long start = System.nanoTime();
         String studentId = student.getStudentId();
         String itemId = item.getItemId();
 
         // Initialize Q-table for student if not exists
-        qTable.putIfAbsent(studentId, new HashMap<>());
-        Map<String, Double> studentQValues = qTable.get(studentId);
+        Map<String, Double> studentQValues = qTable.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>());
 
         // Get current Q-value or initialize to 0
         double currentQValue = studentQValues.getOrDefault(itemId, 0.0);
@@ -35,8 +46,9 @@ public class QLearningRecommender {
         double newQValue = currentQValue + learningRate * (reward + discountFactor * maxFutureQ - currentQValue);
 
         studentQValues.put(itemId, newQValue);
+        updateTime.recordSince(start);
 
-        System.out.println("Updated Q-value for student " + student.getName() +
+        logger.debug(() -> "Updated Q-value for student " + student.getName() +
                 ", item " + item.getName() + ": " + newQValue);
     }
 
@@ -141,11 +153,44 @@ public class QLearningRecommender {
     // Save and load Q-table (for persistence)
     public void saveQTable() {
         // Would implement database persistence here
-        System.out.println("Q-table saved with " + qTable.size() + " students");
+        logger.info("Q-table saved with " + qTable.size() + " students");
     }
 
     public void loadQTable() {
         // Would implement database loading here
-        System.out.println("Q-table loaded");
+        logger.info("Q-table loaded");
+    }
+
+    public int getStudentCount() {
+        return qTable.size();
+    }
+
+    public long getQValueCount() {
+        long count = 0;
+        for (Map<String, Double> studentQValues : qTable.values()) {
+            count += studentQValues.size();
+        }
+        return count;
+    }
+
+    // Getters
+    public double getLearningRate() { return learningRate; }
+    public double getDiscountFactor() { return discountFactor; }
+    public double getExplorationRate() { return explorationRate; }
+
+    public void setLearningRate(double learningRate) {
+        if (!(learningRate > 0 && learningRate <= 1)) {
+            throw new IllegalArgumentException("Learning rate must be in (0, 1]: " + learningRate);
+        }
+        this.learningRate = learningRate;
+        logger.info("Learning rate set to " + learningRate);
+    }
+
+    public void setExplorationRate(double explorationRate) {
+        if (!(explorationRate >= 0 && explorationRate <= 1)) {
+            throw new IllegalArgumentException("Exploration rate must be in [0, 1]: " + explorationRate);
+        }
+        this.explorationRate = explorationRate;
+        logger.info("Exploration rate set to " + explorationRate);
     }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package services;
 
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import models.Order;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ReportGenerator {
+    private static final LatencyHistogram dailyReportTime = MetricsRegistry.histogram(
+            "cafeteria_report_seconds", "Sales report generation latency", "report", "daily");
+    private static final LatencyHistogram weeklyReportTime = MetricsRegistry.histogram(
+            "cafeteria_report_seconds", "Sales report generation latency", "report", "weekly");
+
     private OrderProcessor orderProcessor;
 
     public ReportGenerator() {
@@ -21,6 +28,7 @@ public class ReportGenerator {
     }
 
     public String generateDailySalesReport(Date date) {
+        long start = System.nanoTime();
         List<Order> dailyOrders = orderProcessor.getCompletedOrders().stream()
                 .filter(order -> isSameDay(order.getOrderDate(), date))
                 .collect(Collectors.toList());
@@ -31,13 +39,16 @@ public class ReportGenerator {
 
         int totalOrders = dailyOrders.size();
 
-        return "Daily Sales Report for " + date +
+        String report = "Daily Sales Report for " + date +
                 "\nTotal Orders: " + totalOrders +
                 "\nTotal Revenue: $" + String.format("%.2f", totalRevenue) +
                 "\nAverage Order Value: $" + (totalOrders > 0 ? String.format("%.2f", totalRevenue / totalOrders) : "0.00");
+        dailyReportTime.recordSince(start);
+        return report;
     }
 
     public String generateWeeklySalesReport(Date startDate) {
+        long start = System.nanoTime();
         // Simplified implementation - in real app would calculate week range
         List<Order> weeklyOrders = orderProcessor.getCompletedOrders().stream()
                 .filter(order -> !order.getOrderDate().before(startDate))
@@ -49,10 +60,12 @@ public class ReportGenerator {
 
         int totalOrders = weeklyOrders.size();
 
-        return "Weekly Sales Report starting from " + startDate +
+        String report = "Weekly Sales Report starting from " + startDate +
                 "\nTotal Orders: " + totalOrders +
                 "\nTotal Revenue: $" + String.format("%.2f", totalRevenue) +
                 "\nAverage Order Value: $" + (totalOrders > 0 ? String.format("%.2f", totalRevenue / totalOrders) : "0.00");
+        weeklyReportTime.recordSince(start);
+        return report;
     }
 
     public String generateLoyaltyReport() {
@@ -0,0 +1,53 @@
+package services;
+
+import interfaces.IPaymentGateway;
+import models.Payment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Local stand-in for the card gateway: every round trip costs a fixed latency
+public class SimulatedPaymentGateway implements IPaymentGateway {
+    private long perCallLatencyMillis;
+    private long perBatchLatencyMillis;
+    private int maxBatchSize;
+
+    public SimulatedPaymentGateway() {
+        this(1000, 1000, 100);
+    }
+
+    public SimulatedPaymentGateway(long perCallLatencyMillis, long perBatchLatencyMillis, int maxBatchSize) {
+        this.perCallLatencyMillis = perCallLatencyMillis;
+        this.perBatchLatencyMillis = perBatchLatencyMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    @Override
+    public boolean charge(Payment payment) throws InterruptedException {
+        Thread.sleep(perCallLatencyMillis);
+        return true;
+    }
+
+    @Override
+    public List<Boolean> chargeBatch(List<Payment> payments) throws InterruptedException {
+        if (payments.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch of " + payments.size() + " exceeds gateway limit of " + maxBatchSize);
+        }
+
+        Thread.sleep(perBatchLatencyMillis);
+        List<Boolean> results = new ArrayList<>(payments.size());
+        for (int i = 0; i < payments.size(); i++) {
+            results.add(true);
+        }
+        return results;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    // Getters
+    public long getPerCallLatencyMillis() { return perCallLatencyMillis; }
+    public long getPerBatchLatencyMillis() { return perBatchLatencyMillis; }
+}
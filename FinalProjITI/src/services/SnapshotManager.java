@@ -0,0 +1,391 @@
+package services;
+
+import enums.MenuCategory;
+import enums.OrderStatus;
+import interfaces.IMenuProvider;
+import interfaces.IStudentRepository;
+import logging.Logger;
+import models.AvailabilityWindow;
+import models.MenuChange;
+import models.MenuItem;
+import models.Order;
+import models.OrderLine;
+import models.Student;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Compact binary snapshots of students (with loyalty balances), the menu (with stock levels and
+// serving times), open orders and the past week's finished ones, which the daily and weekly sales reports are built from.
+// Each generation is three memory-mapped files plus a manifest that is swapped in last,
+// so a crash mid-write leaves the previous generation intact. The manifest also records
+// how far into the order journal the snapshot reaches; only the tail needs replaying,
+// and the journal is compacted down to that tail once the snapshot is in place.
+public class SnapshotManager {
+    private static final Logger logger = Logger.getLogger(SnapshotManager.class);
+
+    private static final int MAGIC = 0x43414645; // "CAFE"
+    private static final int VERSION = 3; // 2: orders store one (itemId, quantity) entry per line; 3: menu stock and windows
+    private static final int OLDEST_READABLE_VERSION = 2;
+    private static final String MANIFEST = "snapshot.manifest";
+    private static final int REPORT_DAYS = 7; // Finished orders kept, counting back from the start of today
+
+    private Path directory;
+    private ScheduledExecutorService scheduler;
+
+    public SnapshotManager(Path directory) {
+        this.directory = directory;
+    }
+
+    public synchronized void writeSnapshot(StudentManager studentManager, MenuManager menuManager,
+                                           OrderProcessor orderProcessor) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        // Take the journal position first: anything journaled after it is replayed on top,
+        // and replaying a record the snapshot already reflects is harmless
+        OrderJournal journal = orderProcessor.getOrderJournal();
+        long journalOffset = journal == null ? 0 : journal.getDurableOffset();
+        long generation = readGeneration() + 1;
+
+        writeMapped(sectionFile("students", generation), encodeStudents(studentManager.getAllStudents()));
+        writeMapped(sectionFile("menu", generation), encodeMenu(menuManager));
+        long reportsFrom = LocalDate.now().minusDays(REPORT_DAYS).atStartOfDay(ZoneId.systemDefault())
+                .toInstant().toEpochMilli();
+        List<Order> orders = new ArrayList<>();
+        for (Order order : orderProcessor.getOrderRepository().getAllOrders()) {
+            OrderStatus status = order.getStatus();
+            boolean finished = status == OrderStatus.COMPLETED || status == OrderStatus.CANCELLED;
+            if (!finished || order.getOrderDate().getTime() >= reportsFrom) {
+                orders.add(order);
+            }
+        }
+        writeMapped(sectionFile("orders", generation), encodeOrders(orders));
+
+        ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(manifest);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(generation);
+        out.writeLong(journalOffset);
+        out.writeLong(System.currentTimeMillis());
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        writeMapped(temp, manifest.toByteArray());
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (String section : new String[]{"students", "menu", "orders"}) {
+            Files.deleteIfExists(sectionFile(section, generation - 1));
+        }
+        // The journal before the offset is now only needed by older generations, which are gone
+        if (journal != null) {
+            try {
+                journal.compactTo(journalOffset);
+            } catch (IOException e) {
+                logger.warn("Order journal compaction failed, keeping it whole: " + e.getMessage());
+            }
+        }
+        logger.info(String.format("Snapshot %d written in %.1fms (%d orders)",
+                generation, (System.nanoTime() - start) / 1_000_000.0, orders.size()));
+    }
+
+    // Restores the latest snapshot and returns the journal offset to replay from (0 if there is none)
+    public long loadSnapshot(StudentManager studentManager, MenuManager menuManager,
+                             OrderProcessor orderProcessor) throws IOException {
+        Path manifestFile = directory.resolve(MANIFEST);
+        if (!Files.exists(manifestFile)) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        ByteBuffer manifest = map(manifestFile);
+        int magic = manifest.getInt();
+        int version = manifest.getInt();
+        if (magic != MAGIC || !isReadable(version)) {
+            logger.warn("Ignoring unrecognised snapshot manifest");
+            return 0;
+        }
+        long generation = manifest.getLong();
+        long journalOffset = manifest.getLong();
+
+        ByteBuffer students = openSection(sectionFile("students", generation));
+        int studentCount = students.getInt();
+        studentManager.attachSnapshot(new StudentSnapshot(students.slice(), studentCount));
+
+        ByteBuffer menu = openSection(sectionFile("menu", generation));
+        // Swapped in as one batch: a single menu snapshot is published for the whole section
+        List<MenuChange> menuChanges = new ArrayList<>();
+        for (MenuItem item : menuManager.getMenuItems()) {
+            menuChanges.add(MenuChange.remove(item.getItemId()));
+        }
+        Map<String, Integer> stockLevels = new LinkedHashMap<>();
+        Map<String, String> itemWindows = new LinkedHashMap<>();
+        for (int i = menu.getInt(); i > 0; i--) {
+            String itemId = readString(menu);
+            String name = readString(menu);
+            String description = readString(menu);
+            double price = menu.getDouble();
+            byte ordinal = menu.get();
+            MenuCategory category = ordinal < 0 ? null : MenuCategory.values()[ordinal];
+            menuChanges.add(MenuChange.add(new MenuItem(itemId, name, description, price, category)));
+            if (version >= 3) {
+                stockLevels.put(itemId, menu.getInt());
+                itemWindows.put(itemId, readString(menu));
+            }
+        }
+        menuManager.applyMenuChanges(menuChanges);
+        if (version >= 3) {
+            // Every category is set, so windows the fresh menu started with don't survive unless saved
+            Map<MenuCategory, String> categoryWindows = new LinkedHashMap<>();
+            for (int i = menu.getInt(); i > 0; i--) {
+                categoryWindows.put(MenuCategory.values()[menu.get()], readString(menu));
+            }
+            for (MenuCategory category : MenuCategory.values()) {
+                menuManager.setCategoryAvailability(category, AvailabilityWindow.parseAll(categoryWindows.get(category)));
+            }
+            Inventory inventory = menuManager.getInventory();
+            for (Map.Entry<String, Integer> level : stockLevels.entrySet()) {
+                if (level.getValue() < 0) {
+                    inventory.stopTracking(level.getKey());
+                } else {
+                    inventory.setStock(level.getKey(), level.getValue()); // Open orders reserve theirs again as they are restored
+                }
+            }
+            for (Map.Entry<String, String> windows : itemWindows.entrySet()) {
+                menuManager.setItemAvailability(windows.getKey(), AvailabilityWindow.parseAll(windows.getValue()));
+            }
+        }
+
+        ByteBuffer orders = openSection(sectionFile("orders", generation));
+        IStudentRepository studentRepository = orderProcessor.getStudentRepository();
+        IMenuProvider menuProvider = orderProcessor.getMenuProvider();
+        int restored = 0;
+        for (int i = orders.getInt(); i > 0; i--) {
+            String orderId = readString(orders);
+            Student student = studentRepository.getStudent(readString(orders));
+            Date orderDate = new Date(orders.getLong());
+            OrderStatus status = OrderStatus.values()[orders.get()];
+            Order order = student == null ? null : new Order(orderId, student, orderDate);
+            for (int lines = orders.getInt(); lines > 0; lines--) {
+                MenuItem item = menuProvider.getMenuItemById(readString(orders));
+                int quantity = orders.getInt();
+                if (order != null && item != null) {
+                    order.addItem(item, quantity);
+                }
+            }
+            if (order != null) {
+                if (status != order.getStatus()) {
+                    order.changeStatus(status);
+                }
+                orderProcessor.restoreOrder(order);
+                restored++;
+            }
+        }
+
+        logger.info(String.format("Snapshot %d loaded in %.1fms (%d orders)",
+                generation, (System.nanoTime() - start) / 1_000_000.0, restored));
+        return journalOffset;
+    }
+
+    public void startPeriodicSnapshots(StudentManager studentManager, MenuManager menuManager,
+                                       OrderProcessor orderProcessor, long interval, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeSnapshot(studentManager, menuManager, orderProcessor);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Snapshot failed: " + e.getMessage());
+            }
+        }, interval, interval, unit);
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private byte[] encodeStudents(List<Student> students) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, students.size());
+        for (Student student : students) {
+            // Layout must match StudentSnapshot.decode
+            writeString(out, student.getStudentId());
+            writeString(out, student.getUsername());
+            writeString(out, student.getUserId());
+            writeString(out, PasswordHasher.toStored(student.getPassword())); // Never the plain password
+            writeString(out, student.getName());
+            writeString(out, student.getEmail());
+            out.writeInt(student.viewPointsBalance());
+        }
+        return bytes.toByteArray();
+    }
+
+    // Each item also carries its stock on hand (-1 when untracked) and its own serving windows;
+    // the categories' windows follow the items
+    private byte[] encodeMenu(MenuManager menuManager) throws IOException {
+        List<MenuItem> items = menuManager.getMenuItems();
+        Inventory inventory = menuManager.getInventory();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, items.size());
+        for (MenuItem item : items) {
+            writeString(out, item.getItemId());
+            writeString(out, item.getName());
+            writeString(out, item.getDescription());
+            out.writeDouble(item.getPrice());
+            out.writeByte(item.getCategory() == null ? -1 : item.getCategory().ordinal()); // -1: uncategorised
+            out.writeInt(inventory.isTracked(item.getItemId())
+                    ? inventory.getAvailable(item.getItemId()) + inventory.getReserved(item.getItemId()) : -1);
+            writeString(out, formatWindows(menuManager.getItemAvailability(item.getItemId())));
+        }
+
+        List<MenuCategory> scheduled = new ArrayList<>();
+        for (MenuCategory category : MenuCategory.values()) {
+            if (!menuManager.getCategoryAvailability(category).isEmpty()) {
+                scheduled.add(category);
+            }
+        }
+        out.writeInt(scheduled.size());
+        for (MenuCategory category : scheduled) {
+            out.writeByte(category.ordinal());
+            writeString(out, formatWindows(menuManager.getCategoryAvailability(category)));
+        }
+        return bytes.toByteArray();
+    }
+
+    // In AvailabilityWindow.parseAll's format; null when there are none
+    private static String formatWindows(List<AvailabilityWindow> windows) {
+        if (windows.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        for (AvailabilityWindow window : windows) {
+            text.append(text.length() > 0 ? "; " : "").append(window);
+        }
+        return text.toString();
+    }
+
+    private byte[] encodeOrders(List<Order> orders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, orders.size());
+        for (Order order : orders) {
+            writeString(out, order.getOrderId());
+            writeString(out, order.getStudent().getStudentId());
+            out.writeLong(order.getOrderDate().getTime());
+            out.writeByte(order.getStatus().ordinal());
+            Collection<OrderLine> lines = order.getOrderItems().getLines();
+            out.writeInt(lines.size());
+            for (OrderLine line : lines) {
+                writeString(out, line.getItemId());
+                out.writeInt(line.getQuantity());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeHeader(DataOutputStream out, int count) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(count);
+    }
+
+    // Leaves the buffer positioned at the record count
+    private static ByteBuffer openSection(Path file) throws IOException {
+        ByteBuffer buffer = map(file);
+        if (buffer.getInt() != MAGIC || !isReadable(buffer.getInt())) {
+            throw new IOException("Corrupt snapshot section " + file);
+        }
+        return buffer;
+    }
+
+    private static boolean isReadable(int version) {
+        return version >= OLDEST_READABLE_VERSION && version <= VERSION;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static void writeMapped(Path file, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, data.length);
+            buffer.put(data);
+            buffer.force();
+        }
+    }
+
+    private long readGeneration() throws IOException {
+        Path manifestFile = directory.resolve(MANIFEST);
+        if (!Files.exists(manifestFile)) {
+            return 0;
+        }
+        ByteBuffer manifest = map(manifestFile);
+        manifest.getInt();
+        manifest.getInt();
+        return manifest.getLong();
+    }
+
+    private Path sectionFile(String section, long generation) {
+        return directory.resolve(section + "-" + generation + ".snap");
+    }
+
+    // Strings are stored as a length-prefixed UTF-8 run; -1 marks null
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void skipString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > 0) {
+            buffer.position(buffer.position() + length);
+        }
+    }
+}
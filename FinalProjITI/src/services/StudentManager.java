@@ -1,16 +1,30 @@
 package services;
 
 import interfaces.IStudentRepository;
+import logging.Logger;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import models.Student;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StudentManager implements IStudentRepository {
+    private static final Logger logger = Logger.getLogger(StudentManager.class);
+
+    private static final LatencyHistogram loginTime = MetricsRegistry.histogram(
+            "cafeteria_login_seconds", "StudentManager.login latency");
+    private static final Counter loginSuccesses = MetricsRegistry.counter(
+            "cafeteria_logins_total", "Login attempts, by outcome", "result", "success");
+    private static final Counter loginFailures = MetricsRegistry.counter(
+            "cafeteria_logins_total", "Login attempts, by outcome", "result", "failure");
+
     private Map<String, Student> students;
+    private volatile StudentSnapshot snapshot; // Students not yet decoded from the last snapshot
 
     public StudentManager() {
-        this.students = new HashMap<>();
+        this.students = new ConcurrentHashMap<>();
         initializeSampleStudents();
     }
 
@@ -21,9 +35,41 @@ public class StudentManager implements IStudentRepository {
         registerStudent("S1003", "bob_johnson", "password123", "Bob Johnson", "bob.johnson@university.edu");
     }
 
+    // Replaces the in-memory students with a snapshot; records are decoded on first access
+    public void attachSnapshot(StudentSnapshot snapshot) {
+        students.clear();
+        this.snapshot = snapshot;
+    }
+
+    private Student loadFromSnapshot(Student decoded) {
+        if (decoded == null) {
+            return null;
+        }
+        Student existing = students.putIfAbsent(decoded.getStudentId(), decoded);
+        return existing != null ? existing : decoded;
+    }
+
+    private void loadAllFromSnapshot() {
+        StudentSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        for (String studentId : current.getStudentIds()) {
+            if (!students.containsKey(studentId)) {
+                loadFromSnapshot(current.findById(studentId));
+            }
+        }
+        snapshot = null;
+    }
+
     @Override
     public Student getStudent(String studentId) {
-        return students.get(studentId);
+        Student student = students.get(studentId);
+        StudentSnapshot current = snapshot;
+        if (student == null && current != null) {
+            student = loadFromSnapshot(current.findById(studentId));
+        }
+        return student;
     }
 
     @Override
@@ -37,49 +83,65 @@ public class StudentManager implements IStudentRepository {
 
     @Override
     public ArrayList<Student> getAllStudents() {
+        loadAllFromSnapshot();
         return new ArrayList<>(students.values());
     }
 
     public boolean registerStudent(String studentId, String username, String password, String name, String email) {
-        if (students.containsKey(studentId)) {
-            System.out.println("Student with ID " + studentId + " already exists");
+        StudentSnapshot current = snapshot;
+        if (students.containsKey(studentId) || (current != null && current.containsStudent(studentId))) {
+            logger.warn("Student with ID " + studentId + " already exists");
             return false;
         }
 
         // Check if username is already taken (with null safety)
         boolean usernameExists = students.values().stream()
                 .anyMatch(student -> student.getUsername() != null &&
-                        student.getUsername().equals(username));
+                        student.getUsername().equals(username))
+                || (current != null && current.containsUsername(username));
 
         if (usernameExists) {
-            System.out.println("Username " + username + " is already taken");
+            logger.warn("Username " + username + " is already taken");
             return false;
         }
 
         Student newStudent = new Student(
-                "U" + (students.size() + 1001),
-                username, password, name, email, studentId
+                "U" + (getStudentCount() + 1001),
+                username, PasswordHasher.hash(password), name, email, studentId
         );
 
         students.put(studentId, newStudent);
-        System.out.println("Student " + name + " registered successfully");
+        logger.info("Student " + name + " registered successfully");
         return true;
     }
 
     public Student login(String username, String password) {
-        System.out.println("Attempting login for username: " + username);
+        long start = System.nanoTime();
+        Student student = authenticate(username, password);
+        loginTime.recordSince(start);
+        (student != null ? loginSuccesses : loginFailures).increment();
+        return student;
+    }
+
+    private Student authenticate(String username, String password) {
+        logger.debug(() -> "Attempting login for username: " + username);
 
         for (Student student : students.values()) {
-            System.out.println("Checking student: " + student.getUsername());
+            logger.debug(() -> "Checking student: " + student.getUsername());
             if (student.getUsername() != null &&
                     student.getUsername().equals(username) &&
-                    student.getPassword() != null &&
-                    student.getPassword().equals(password)) {
-                System.out.println("Login successful for: " + username);
+                    PasswordHasher.matches(password, student.getPassword())) {
+                logger.info("Login successful for: " + username);
                 return student;
             }
         }
-        System.out.println("Login failed for: " + username);
+
+        Student fromSnapshot = findInSnapshot(username);
+        if (fromSnapshot != null && PasswordHasher.matches(password, fromSnapshot.getPassword())) {
+            logger.info("Login successful for: " + username);
+            return fromSnapshot;
+        }
+        logger.info("Login failed for: " + username);
         return null;
     }
     public Student login(String username, String password, String role) {
@@ -91,7 +153,7 @@ public class StudentManager implements IStudentRepository {
 
     public void displayAllStudents() {
         System.out.println("\n=== Registered Students ===");
-        students.values().forEach(student ->
+        getAllStudents().forEach(student ->
                 System.out.println(student.getStudentId() + ": " + student.getName() + " (" + student.getEmail() + ")"));
     }
 
@@ -101,6 +163,30 @@ public class StudentManager implements IStudentRepository {
                 .filter(student -> student.getUsername() != null &&
                         student.getUsername().equals(username))
                 .findFirst()
-                .orElse(null);
+                .orElseGet(() -> findInSnapshot(username));
+    }
+
+    // Decodes a not-yet-loaded student by username; ignores stale entries for renamed students
+    private Student findInSnapshot(String username) {
+        StudentSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Student student = loadFromSnapshot(current.findByUsername(username));
+        return student != null && username.equals(student.getUsername()) ? student : null;
+    }
+
+    public int getStudentCount() {
+        StudentSnapshot current = snapshot;
+        if (current == null) {
+            return students.size();
+        }
+        int notYetLoaded = 0;
+        for (String studentId : current.getStudentIds()) {
+            if (!students.containsKey(studentId)) {
+                notYetLoaded++;
+            }
+        }
+        return students.size() + notYetLoaded;
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package services;
+
+import models.Student;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Read-only view over the student section of a snapshot. Only the record offsets are
+// indexed up front; a Student object is decoded when someone first asks for it.
+public class StudentSnapshot {
+    private ByteBuffer records;
+    private Map<String, Integer> offsetsById;
+    private Map<String, Integer> offsetsByUsername;
+
+    public StudentSnapshot(ByteBuffer records, int count) {
+        this.records = records;
+        this.offsetsById = new HashMap<>(count * 2);
+        this.offsetsByUsername = new HashMap<>(count * 2);
+
+        ByteBuffer scan = records.duplicate();
+        for (int i = 0; i < count; i++) {
+            int offset = scan.position();
+            String studentId = SnapshotManager.readString(scan);
+            String username = SnapshotManager.readString(scan);
+            for (int field = 0; field < 4; field++) { // userId, password, name, email
+                SnapshotManager.skipString(scan);
+            }
+            scan.getInt(); // loyalty points
+
+            offsetsById.put(studentId, offset);
+            if (username != null) {
+                offsetsByUsername.put(username, offset);
+            }
+        }
+    }
+
+    // Record layout must match SnapshotManager.writeStudents
+    private Student decode(int offset) {
+        ByteBuffer record = records.duplicate();
+        record.position(offset);
+        String studentId = SnapshotManager.readString(record);
+        String username = SnapshotManager.readString(record);
+        String userId = SnapshotManager.readString(record);
+        String password = SnapshotManager.readString(record);
+        String name = SnapshotManager.readString(record);
+        String email = SnapshotManager.readString(record);
+        int points = record.getInt();
+
+        Student student = new Student(userId, username, password, name, email, studentId);
+        student.addPoints(points);
+        return student;
+    }
+
+    public Student findById(String studentId) {
+        Integer offset = offsetsById.get(studentId);
+        return offset == null ? null : decode(offset);
+    }
+
+    public Student findByUsername(String username) {
+        Integer offset = offsetsByUsername.get(username);
+        return offset == null ? null : decode(offset);
+    }
+
+    public boolean containsStudent(String studentId) {
+        return offsetsById.containsKey(studentId);
+    }
+
+    public boolean containsUsername(String username) {
+        return offsetsByUsername.containsKey(username);
+    }
+
+    public Set<String> getStudentIds() {
+        return offsetsById.keySet();
+    }
+
+    public int size() {
+        return offsetsById.size();
+    }
+}
@@ -0,0 +1,45 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single "theoretical arrival time" (the GCRA formulation): a request
+// is allowed while that time is no more than a burst's worth of intervals ahead of now, and
+// each allowed request pushes it one interval further. One CAS per decision, no lock.
+public class TokenBucket {
+    private long intervalNanos;  // Time to earn back one token
+    private long toleranceNanos; // How far ahead of now the arrival time may run (capacity - 1 tokens)
+    private AtomicLong theoreticalArrival;
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        this.intervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(1, capacity) - 1);
+        this.theoreticalArrival = new AtomicLong(Long.MIN_VALUE / 2); // Starts full
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            if (arrival - toleranceNanos > nowNanos) {
+                return false;
+            }
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Gives back a token taken by a request that was rejected further along
+    public void release() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    // A full bucket carries no state worth keeping
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}